@@ -5,7 +5,7 @@ import java.util.stream.Collectors;
 
 import javax.annotation.processing.Generated;
 
-import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.resources.ActiveResourceCompoundKey;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.resource.ResourceDemandRequest;
 import org.palladiosimulator.pcm.allocation.AllocationContext;
 import org.palladiosimulator.pcm.resourceenvironment.ProcessingResourceSpecification;
@@ -19,6 +19,10 @@ import org.palladiosimulator.pcm.resourcetype.ProcessingResourceType;
  * equal.
  * <p>
  * A job is considered "higher" than another job if it has a higher demand.
+ * <p>
+ * The key of the targeted active resource and the matching processing resource
+ * specification are resolved once when the job is created, as they are needed
+ * on every job event.
  *
  * @author Julijan Katic
  */
@@ -33,16 +37,52 @@ public class ActiveJob extends Job {
 	/** Keeps track of the resource demand. */
 	private final ResourceDemandRequest request;
 
+	/** The key of the targeted resource, or {@code null} if not allocated. */
+	private final ActiveResourceCompoundKey resourceKey;
+
+	/** The matching specification, or {@code null} if there is no unique one. */
+	private final ProcessingResourceSpecification processingResourceSpecification;
+
+	/** The number of matching specifications, for error reporting. */
+	private final int numberOfMatchingSpecifications;
+
 	@Generated("SparkTools")
 	private ActiveJob(final Builder builder) {
 		super(builder.id, builder.demand);
 		this.processingResourceType = builder.processingResourceType;
 		this.allocationContext = builder.allocationContext;
 		this.request = builder.request;
+
+		if (this.allocationContext != null && this.processingResourceType != null) {
+			this.resourceKey = ActiveResourceCompoundKey
+					.of(this.allocationContext.getResourceContainer_AllocationContext(), this.processingResourceType);
+
+			final List<ProcessingResourceSpecification> matches = this.allocationContext
+					.getResourceContainer_AllocationContext().getActiveResourceSpecifications_ResourceContainer()
+					.stream()
+					.filter(spec -> spec.getActiveResourceType_ActiveResourceSpecification()
+							.equals(this.processingResourceType))
+					.collect(Collectors.toList());
+			this.numberOfMatchingSpecifications = matches.size();
+			this.processingResourceSpecification = matches.size() == 1 ? matches.get(0) : null;
+		} else {
+			this.resourceKey = null;
+			this.processingResourceSpecification = null;
+			this.numberOfMatchingSpecifications = 0;
+		}
 	}
 
 	public ProcessingResourceType getProcessingResourceType() {
-		return EcoreUtil.copy(this.processingResourceType);
+		return this.processingResourceType;
+	}
+
+	/**
+	 * Returns the key of the active resource that processes this job.
+	 *
+	 * @return the key, or {@code null} if the job has no allocation context.
+	 */
+	public ActiveResourceCompoundKey getResourceKey() {
+		return this.resourceKey;
 	}
 
 	public ResourceDemandRequest getRequest() {
@@ -63,19 +103,13 @@ public class ActiveJob extends Job {
 	 * @return the processingResourceSpecification
 	 */
 	public ProcessingResourceSpecification getProcessingResourceSpecification() {
-		final List<ProcessingResourceSpecification> matches = this.allocationContext
-				.getResourceContainer_AllocationContext().getActiveResourceSpecifications_ResourceContainer().stream()
-				.filter(
-				spec -> spec.getActiveResourceType_ActiveResourceSpecification().equals(this.processingResourceType))
-				.collect(Collectors.toList());
-
-		if (matches.size() != 1) {
+		if (this.processingResourceSpecification == null) {
 			throw new IllegalArgumentException(
 					String.format("Wrong number of matching ProcessingResourceSpecifications, expected 1 but found %d",
-							matches.size()));
+							this.numberOfMatchingSpecifications));
 		}
 
-		return matches.get(0);
+		return this.processingResourceSpecification;
 	}
 
 	/**
@@ -93,7 +127,7 @@ public class ActiveJob extends Job {
 	 */
 	@Generated("SparkTools")
 	public static final class Builder {
-		private String id;
+		private long id;
 		private double demand;
 		private ProcessingResourceType processingResourceType;
 		private AllocationContext allocationContext;
@@ -108,7 +142,7 @@ public class ActiveJob extends Job {
 		 * @param id field to set
 		 * @return builder
 		 */
-		public Builder withId(final String id) {
+		public Builder withId(final long id) {
 			this.id = id;
 			return this;
 		}
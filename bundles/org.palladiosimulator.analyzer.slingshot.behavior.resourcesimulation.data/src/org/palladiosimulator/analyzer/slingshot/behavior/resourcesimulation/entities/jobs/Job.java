@@ -1,18 +1,19 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.jobs;
 
-import java.util.Objects;
-
 import de.uka.ipd.sdq.probfunction.math.util.MathTools;
 
 public abstract class Job {
 
 	/** The unique id of the job */
-	private final String id;
+	private final long id;
+
+	/** The id rendered as a string, created on demand. */
+	private String idString;
 
 	/** The current demand of this job */
 	private double demand;
 
-	public Job(final String id, final double demand) {
+	public Job(final long id, final double demand) {
 		super();
 		this.id = id;
 		this.demand = demand;
@@ -43,7 +44,10 @@ public abstract class Job {
 	 * @return the id of this job.
 	 */
 	public String getId() {
-		return id;
+		if (this.idString == null) {
+			this.idString = Long.toString(this.id);
+		}
+		return this.idString;
 	}
 
 	/**
@@ -58,7 +62,7 @@ public abstract class Job {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(id);
+		return Long.hashCode(id);
 	}
 
 	@Override
@@ -73,7 +77,7 @@ public abstract class Job {
 			return false;
 		}
 		final Job other = (Job) obj;
-		return Objects.equals(id, other.id);
+		return id == other.id;
 	}
 
 	@Override
@@ -8,7 +8,7 @@ public class LinkingJob extends Job {
 	private final LinkingResource linkingResource;
 	private final CallOverWireRequest request;
 
-	public LinkingJob(final String id, final double demand, final LinkingResource linkingResource,
+	public LinkingJob(final long id, final double demand, final LinkingResource linkingResource,
 			final CallOverWireRequest request) {
 		super(id, demand);
 		this.linkingResource = linkingResource;
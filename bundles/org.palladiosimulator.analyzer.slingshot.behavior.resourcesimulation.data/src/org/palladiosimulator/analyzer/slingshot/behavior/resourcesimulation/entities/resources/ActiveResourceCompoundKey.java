@@ -1,18 +1,25 @@
-package org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.resources.active;
+package org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.resources;
 
 import java.util.Objects;
 
 import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
 import org.palladiosimulator.pcm.resourcetype.ResourceType;
 
+/**
+ * Identifies an active resource by its resource container and its resource
+ * type. The hash code is computed once, as keys are looked up for every job
+ * event.
+ */
 public final class ActiveResourceCompoundKey {
 
 	private final ResourceContainer resourceContainer;
 	private final ResourceType resourceType;
+	private final int hashCode;
 
 	public ActiveResourceCompoundKey(final ResourceContainer resourceContainer, final ResourceType resourceType) {
 		this.resourceContainer = resourceContainer;
 		this.resourceType = resourceType;
+		this.hashCode = Objects.hash(resourceContainer.getId(), resourceType.getId());
 	}
 
 	/**
@@ -31,7 +38,7 @@ public final class ActiveResourceCompoundKey {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.resourceContainer.getId(), this.resourceType.getId());
+		return this.hashCode;
 	}
 
 	@Override
@@ -43,7 +50,8 @@ public final class ActiveResourceCompoundKey {
 			return false;
 		}
 		final ActiveResourceCompoundKey other = (ActiveResourceCompoundKey) obj;
-		return Objects.equals(this.resourceContainer.getId(), other.resourceContainer.getId())
+		return this.hashCode == other.hashCode
+				&& Objects.equals(this.resourceContainer.getId(), other.resourceContainer.getId())
 				&& Objects.equals(this.resourceType.getId(), other.resourceType.getId());
 	}
 
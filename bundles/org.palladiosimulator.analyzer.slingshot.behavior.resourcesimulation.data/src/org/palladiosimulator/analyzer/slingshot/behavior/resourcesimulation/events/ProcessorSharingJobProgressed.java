@@ -1,14 +1,18 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events;
 
-import java.util.UUID;
-
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.jobs.Job;
 
+/**
+ * Progress event of a processor sharing resource. The event carries the epoch
+ * of the resource's timer at the time it was scheduled. If the resource has
+ * rescheduled in the meantime, the epoch does not match anymore and the event
+ * is stale.
+ */
 public final class ProcessorSharingJobProgressed extends JobProgressed {
 
-	private final UUID expectedState;
+	private final long expectedState;
 
-	public ProcessorSharingJobProgressed(final Job shortestJob, final double delay, final UUID expectedState) {
+	public ProcessorSharingJobProgressed(final Job shortestJob, final double delay, final long expectedState) {
 		super(shortestJob, delay);
 		this.expectedState = expectedState;
 	}
@@ -16,7 +20,7 @@ public final class ProcessorSharingJobProgressed extends JobProgressed {
 	/**
 	 * @return the expectedState
 	 */
-	public UUID getExpectedState() {
+	public long getExpectedState() {
 		return this.expectedState;
 	}
 
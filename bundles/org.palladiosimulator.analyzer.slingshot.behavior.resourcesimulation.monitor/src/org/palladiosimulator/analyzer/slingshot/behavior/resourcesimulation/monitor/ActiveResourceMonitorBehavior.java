@@ -8,6 +8,7 @@ import javax.inject.Inject;
 
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.ActiveResourceStateUpdated;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.ResourceDemandCalculated;
+import org.palladiosimulator.analyzer.slingshot.common.utils.MonitoredElements;
 import org.palladiosimulator.analyzer.slingshot.core.extension.SimulationBehaviorExtension;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.Subscribe;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.eventcontract.EventCardinality;
@@ -31,10 +32,9 @@ import org.palladiosimulator.probeframework.probes.Probe;
  *
  * Behavior to monitor active resources.
  *
- * TODO : would it make sense, to unregister / only register subscribers, if the
- * respective monitor actually exists? i.e. only listen to
- * {@link ActiveResourceStateUpdated} if at least one monitor on an active
- * resource exists.
+ * The monitored resources are declared to the {@link MonitoredElements}, such
+ * that {@link ActiveResourceStateUpdated} and {@link ResourceDemandCalculated}
+ * can be omitted for resources without a monitor.
  *
  * @author Sarah Stieß
  *
@@ -45,11 +45,14 @@ import org.palladiosimulator.probeframework.probes.Probe;
 public class ActiveResourceMonitorBehavior implements SimulationBehaviorExtension {
 
 	private final IGenericCalculatorFactory calculatorFactory;
+	private final MonitoredElements monitoredElements;
 	private final ActiveResourceProbeTable table = new ActiveResourceProbeTable();
 
 	@Inject
-	public ActiveResourceMonitorBehavior(final IGenericCalculatorFactory calculatorFactory) {
+	public ActiveResourceMonitorBehavior(final IGenericCalculatorFactory calculatorFactory,
+			final MonitoredElements monitoredElements) {
 		this.calculatorFactory = calculatorFactory;
+		this.monitoredElements = monitoredElements;
 	}
 
 	@Subscribe
@@ -60,21 +63,25 @@ public class ActiveResourceMonitorBehavior implements SimulationBehaviorExtensio
 		if (measuringPoint instanceof ActiveResourceMeasuringPoint) {
 
 			final ActiveResourceMeasuringPoint activeResourceMeasuringPoint = (ActiveResourceMeasuringPoint) measuringPoint;
+			final String resourceId = activeResourceMeasuringPoint.getActiveResource().getId();
 
 			if (MetricDescriptionUtility.metricDescriptionIdsEqual(spec.getMetricDescription(),
 					MetricDescriptionConstants.STATE_OF_ACTIVE_RESOURCE_METRIC)) {
+				this.monitoredElements.watch(ActiveResourceStateUpdated.class, resourceId);
 				final Calculator calculator = this.table
 						.setupStateOfActiveResourceCalculator(activeResourceMeasuringPoint, this.calculatorFactory);
 				return Result.of(new CalculatorRegistered(calculator));
 
 			} else if (MetricDescriptionUtility.metricDescriptionIdsEqual(spec.getMetricDescription(),
 					MetricDescriptionConstants.RESOURCE_DEMAND_METRIC)) {
+				this.monitoredElements.watch(ResourceDemandCalculated.class, resourceId);
 				final Calculator calculator = this.table.setupResourceDemandCalculator(activeResourceMeasuringPoint,
 						this.calculatorFactory);
 				return Result.of(new CalculatorRegistered(calculator));
 
 			} else if (MetricDescriptionUtility.metricDescriptionIdsEqual(spec.getMetricDescription(),
 					MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE)) {
+				this.monitoredElements.watch(ActiveResourceStateUpdated.class, resourceId);
 				final Calculator calculator = this.table.setupUtilizationOfActiveResourceCalculator(
 						activeResourceMeasuringPoint, this.calculatorFactory);
 				return Result.of(new CalculatorRegistered(calculator));
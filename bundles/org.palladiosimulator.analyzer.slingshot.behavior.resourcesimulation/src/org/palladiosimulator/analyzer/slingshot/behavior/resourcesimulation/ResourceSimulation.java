@@ -6,7 +6,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
 
 import javax.inject.Inject;
 
@@ -15,6 +14,7 @@ import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.enti
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.jobs.Job;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.jobs.LinkingJob;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.jobs.WaitingJob;
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.resources.ActiveResourceCompoundKey;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.AbstractJobEvent;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.ActiveResourceStateUpdated;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.JobAborted;
@@ -25,7 +25,6 @@ import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.even
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.ResourceDemandCalculated;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.repository.ResourceEnvironmentAccessor;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.resources.active.ActiveResource;
-import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.resources.active.ActiveResourceCompoundKey;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.resources.active.ActiveResourceTable;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.resources.linking.LinkingResourceTable;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.resources.linking.SimulatedLinkingResource;
@@ -48,6 +47,9 @@ import org.palladiosimulator.analyzer.slingshot.common.events.AbstractSimulation
 import org.palladiosimulator.analyzer.slingshot.common.events.modelchanges.AllocationChange;
 import org.palladiosimulator.analyzer.slingshot.common.events.modelchanges.ModelAdjusted;
 import org.palladiosimulator.analyzer.slingshot.common.events.modelchanges.ResourceEnvironmentChange;
+import org.palladiosimulator.analyzer.slingshot.common.utils.SimulationIdProvider;
+import org.palladiosimulator.analyzer.slingshot.common.utils.SimulationRandom;
+import org.palladiosimulator.analyzer.slingshot.common.utils.stoexproxy.CompiledStoEx;
 import org.palladiosimulator.analyzer.slingshot.core.events.SimulationFinished;
 import org.palladiosimulator.analyzer.slingshot.core.extension.SimulationBehaviorExtension;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.Subscribe;
@@ -60,7 +62,6 @@ import org.palladiosimulator.pcm.core.composition.AssemblyContext;
 import org.palladiosimulator.pcm.repository.PassiveResource;
 import org.palladiosimulator.pcm.resourceenvironment.LinkingResource;
 
-import de.uka.ipd.sdq.simucomframework.variables.StackContext;
 import de.uka.ipd.sdq.simucomframework.variables.converter.NumberConverter;
 import org.palladiosimulator.analyzer.slingshot.common.utils.*;
 
@@ -96,13 +97,19 @@ public class ResourceSimulation implements SimulationBehaviorExtension {
 	private final PassiveResourceTable passiveResourceTable;
 	private final LinkingResourceTable linkingResourceTable;
 
+	private final SimulationIdProvider idProvider;
+
 	@Inject
-	public ResourceSimulation(final Allocation allocation) {
+	public ResourceSimulation(final Allocation allocation, final SimulationIdProvider idProvider,
+			final SimulationRandom random, final MonitoredElements monitoredElements,
+			final AllocationIndex allocationIndex) {
 		this.allocation = allocation;
-		this.resourceEnvironmentAccessor = new ResourceEnvironmentAccessor(allocation);
-		this.resourceTable = new ActiveResourceTable();
+		this.idProvider = idProvider;
+		this.resourceEnvironmentAccessor = new ResourceEnvironmentAccessor(allocation, allocationIndex);
+		this.resourceTable = new ActiveResourceTable(monitoredElements);
 		this.passiveResourceTable = new PassiveResourceTable();
-		this.linkingResourceTable = new LinkingResourceTable();
+		this.linkingResourceTable = new LinkingResourceTable(random.stream(SimulationRandom.LINK_FAILURES),
+				monitoredElements);
 		this.init();
 	}
 
@@ -148,23 +155,22 @@ public class ResourceSimulation implements SimulationBehaviorExtension {
 	 * @return
 	 */
 	private Set<AbstractSimulationEvent> initiateActiveResource(final ResourceDemandRequest request) {
-		final double demand = StackContext.evaluateStatic(
-				request.getParametricResourceDemand().getSpecification_ParametericResourceDemand().getSpecification(),
-				Double.class, request.getUser().getStack().currentStackFrame());
+		final double demand = request.getAggregatedDemand().orElseGet(() -> CompiledStoEx
+				.of(request.getParametricResourceDemand().getSpecification_ParametericResourceDemand(), Double.class)
+				.evaluate(request.getUser().getStack().currentStackFrame()));
 
-		final Optional<AllocationContext> context = this.allocation.getAllocationContexts_Allocation().stream().filter(
-				c -> c.getAssemblyContext_AllocationContext().getId().equals(request.getAssemblyContext().getId()))
-				.findFirst();
+		final Optional<AllocationContext> context = this.resourceEnvironmentAccessor
+				.findResourceContainerOfComponent(request.getAssemblyContext());
 
 		if (context.isEmpty()) {
-			final Job job = ActiveJob.builder().withDemand(demand).withId(UUID.randomUUID().toString())
+			final Job job = ActiveJob.builder().withDemand(demand).withId(this.idProvider.nextId())
 					.withProcessingResourceType(
 							request.getParametricResourceDemand().getRequiredResource_ParametricResourceDemand())
 					.withRequest(request).build();
 			return Set.of(new JobAborted(job, 0));
 		}
 
-		final Job job = ActiveJob.builder().withDemand(demand).withId(UUID.randomUUID().toString())
+		final Job job = ActiveJob.builder().withDemand(demand).withId(this.idProvider.nextId())
 				.withProcessingResourceType(
 						request.getParametricResourceDemand().getRequiredResource_ParametricResourceDemand())
 				.withRequest(request).withAllocationContext(context.get()).build();
@@ -179,9 +185,9 @@ public class ResourceSimulation implements SimulationBehaviorExtension {
 	 */
 	private WaitingJob createWaitingJob(final ResourceDemandRequest request, final PassiveResource passiveResource) {
 		// TODO::FIX ME!
-		final long demand = StackContext.evaluateStatic(
-				request.getParametricResourceDemand().getSpecification_ParametericResourceDemand().getSpecification(),
-				Long.class, request.getUser().getStack().currentStackFrame());
+		final long demand = CompiledStoEx
+				.of(request.getParametricResourceDemand().getSpecification_ParametericResourceDemand(), Long.class)
+				.evaluate(request.getUser().getStack().currentStackFrame());
 
 		final WaitingJob waitingJob = WaitingJob.builder().withPassiveResource(passiveResource).withRequest(request)
 				.withDemand(demand).build();
@@ -193,9 +199,7 @@ public class ResourceSimulation implements SimulationBehaviorExtension {
 		final Job job = jobInitiated.getEntity();
 		if (job instanceof ActiveJob) {
 			final ActiveJob activeJob = (ActiveJob) job;
-			final ActiveResourceCompoundKey id = new ActiveResourceCompoundKey(
-					activeJob.getAllocationContext().getResourceContainer_AllocationContext(),
-					activeJob.getProcessingResourceType());
+			final ActiveResourceCompoundKey id = activeJob.getResourceKey();
 
 			final Optional<ActiveResource> activeResource = this.resourceTable.getActiveResource(id);
 
@@ -257,9 +261,7 @@ public class ResourceSimulation implements SimulationBehaviorExtension {
 
 		if (job instanceof ActiveJob) {
 			final ActiveJob activeJob = (ActiveJob) job;
-			final ActiveResourceCompoundKey id = ActiveResourceCompoundKey.of(
-					activeJob.getAllocationContext().getResourceContainer_AllocationContext(),
-					activeJob.getProcessingResourceType());
+			final ActiveResourceCompoundKey id = activeJob.getResourceKey();
 
 			final Optional<ActiveResource> activeResource = this.resourceTable.getActiveResource(id);
 
@@ -339,14 +341,17 @@ public class ResourceSimulation implements SimulationBehaviorExtension {
 
 	private void changePassiveResources(AllocationChange allocationchange1) {
 		this.passiveResourceTable.buildPassiveResources(allocationchange1.getNewAllocationContexts());
+		this.resourceEnvironmentAccessor.addAllocationContexts(allocationchange1.getNewAllocationContexts());
 	}
 
 	private void changeActiveResourceTableFromModelChange(final ResourceEnvironmentChange change) {
 		change.getNewResourceContainers()
 				.forEach(newContainer -> this.resourceTable.createActiveResourcesFromResourceContainer(newContainer));
 
-		change.getDeletedResourceContainers()
-				.forEach(deletedContainer -> this.resourceTable.removeActiveResources(deletedContainer));
+		change.getDeletedResourceContainers().forEach(deletedContainer -> {
+			this.resourceTable.removeActiveResources(deletedContainer);
+			this.resourceEnvironmentAccessor.removeResourceContainer(deletedContainer);
+		});
 	}
 
 	@Subscribe
@@ -422,7 +427,7 @@ public class ResourceSimulation implements SimulationBehaviorExtension {
 				.filter(entry -> entry.getKey().endsWith("BYTESIZE"))
 				.mapToDouble(entry -> NumberConverter.toDouble(entry.getValue())).sum();
 
-		return new LinkingJob(UUID.randomUUID().toString(), demand, linkingResource, request);
+		return new LinkingJob(this.idProvider.nextId(), demand, linkingResource, request);
 	}
 
 	/**
@@ -1,9 +1,11 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 import javax.inject.Inject;
 
+import org.palladiosimulator.analyzer.slingshot.common.utils.AllocationIndex;
 import org.palladiosimulator.pcm.allocation.Allocation;
 import org.palladiosimulator.pcm.allocation.AllocationContext;
 import org.palladiosimulator.pcm.core.composition.AssemblyContext;
@@ -16,18 +18,24 @@ import org.palladiosimulator.pcm.resourcetype.ResourceType;
  * The resource environment accessor tries to find information about the
  * resource environment. It provides operations to find the correct resource
  * container for a certain component.
+ * <p>
+ * The allocation contexts are looked up in the {@link AllocationIndex} shared
+ * by all behaviors, which must be kept up to date by
+ * {@link #addAllocationContexts(Collection)} and
+ * {@link #removeResourceContainer(ResourceContainer)} whenever the model is
+ * adjusted.
  * 
  * @author Julijan Katic
  */
 public class ResourceEnvironmentAccessor {
 
 	private final ResourceEnvironment resourceEnvironment;
-	private final Allocation allocation;
+	private final AllocationIndex allocationIndex;
 
 	@Inject
-	public ResourceEnvironmentAccessor(final Allocation allocation) {
-		this.allocation = allocation;
+	public ResourceEnvironmentAccessor(final Allocation allocation, final AllocationIndex allocationIndex) {
 		this.resourceEnvironment = allocation.getTargetResourceEnvironment_Allocation();
+		this.allocationIndex = allocationIndex;
 	}
 
 	public Optional<ProcessingResourceSpecification> findResourceSpecification(final ResourceContainer container,
@@ -39,14 +47,38 @@ public class ResourceEnvironmentAccessor {
 				.findFirst();
 	}
 
+	/**
+	 * Finds the allocation context of an assembly context, from which the resource
+	 * container can be retrieved.
+	 * 
+	 * @param assemblyContext The assembly context to look for.
+	 * @return The allocation context of {@code assemblyContext}, or an empty
+	 *         Optional if it is not allocated.
+	 */
 	public Optional<AllocationContext> findResourceContainerOfComponent(final AssemblyContext assemblyContext) {
-		return this.allocation.getAllocationContexts_Allocation().stream()
-				.filter(allocationContext -> allocationContext.getAssemblyContext_AllocationContext().getId()
-						.equals(assemblyContext.getId()))
-				.findFirst();
+		return this.allocationIndex.findAllocationContext(assemblyContext);
+	}
+
+	/**
+	 * Adds new allocation contexts to the index.
+	 * 
+	 * @param allocationContexts The allocation contexts to add.
+	 */
+	public void addAllocationContexts(final Collection<AllocationContext> allocationContexts) {
+		this.allocationIndex.addAllocationContexts(allocationContexts);
+	}
+
+	/**
+	 * Removes all allocation contexts from the index that allocate to the deleted
+	 * resource container.
+	 * 
+	 * @param resourceContainer The deleted resource container.
+	 */
+	public void removeResourceContainer(final ResourceContainer resourceContainer) {
+		this.allocationIndex.removeResourceContainer(resourceContainer);
 	}
 
 	public static ResourceEnvironmentAccessor with(final Allocation allocation) {
-		return new ResourceEnvironmentAccessor(allocation);
+		return new ResourceEnvironmentAccessor(allocation, new AllocationIndex(allocation));
 	}
 }
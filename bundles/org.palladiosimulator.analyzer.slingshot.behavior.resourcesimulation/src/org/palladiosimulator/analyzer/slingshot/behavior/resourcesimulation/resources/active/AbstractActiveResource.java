@@ -14,6 +14,7 @@ import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.even
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.JobProgressed;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.ResourceDemandCalculated;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.resources.AbstractResource;
+import org.palladiosimulator.analyzer.slingshot.common.utils.MonitoredElements;
 import org.palladiosimulator.pcm.resourcetype.ProcessingResourceType;
 
 /**
@@ -35,6 +36,9 @@ public abstract class AbstractActiveResource extends AbstractResource implements
 
 	private final ProcessingRate processingRate;
 
+	/** The resources for which monitoring events are emitted. */
+	private final MonitoredElements monitoredElements;
+
 	/**
 	 * Constructs the active resource. The id is specified by the {@code type} (more
 	 * specifically {@code type.getId()}).
@@ -44,10 +48,13 @@ public abstract class AbstractActiveResource extends AbstractResource implements
 	 *                 model.
 	 * @param capacity The maximum capacity of the resource.
 	 * @param rate     The specified PCM processing rate of the resource.
+	 * @param monitoredElements The elements watched by probes.
 	 */
-	public AbstractActiveResource(final Object id, final String name, final long capacity, final ProcessingRate rate) {
+	public AbstractActiveResource(final Object id, final String name, final long capacity, final ProcessingRate rate,
+			final MonitoredElements monitoredElements) {
 		super(capacity, name, id);
 		this.processingRate = rate;
+		this.monitoredElements = monitoredElements;
 	}
 
 	/**
@@ -83,11 +90,14 @@ public abstract class AbstractActiveResource extends AbstractResource implements
 
 	/**
 	 * Instructs that a job should be aborted (and thus removed from the queue)
-	 * safely.
+	 * safely. The capacity freed by the job is handed to the remaining jobs.
 	 * 
-	 * @param job The job to abort.
+	 * @param job  The job to abort.
+	 * @param time The simulation time at which the job is aborted.
+	 * @return The events of the remaining jobs that are (re-)scheduled because
+	 *         of the abort.
 	 */
-	protected abstract void abortJob(final Job job);
+	protected abstract Set<AbstractJobEvent> abortJob(final Job job, final double time);
 
 	/**
 	 * Checks whether the job belongs to the resource. This is done by checking
@@ -101,10 +111,7 @@ public abstract class AbstractActiveResource extends AbstractResource implements
 	public boolean jobBelongsToResource(final Job job) {
 		if (job instanceof ActiveJob) {
 			final ActiveJob activeJob = (ActiveJob) job;
-			final ActiveResourceCompoundKey jobId = ActiveResourceCompoundKey.of(
-					activeJob.getAllocationContext().getResourceContainer_AllocationContext(),
-					activeJob.getProcessingResourceType());
-			return this.getId().equals(jobId);
+			return this.getId().equals(activeJob.getResourceKey());
 		}
 		return false;
 	}
@@ -119,8 +126,13 @@ public abstract class AbstractActiveResource extends AbstractResource implements
 
 		final Optional<AbstractJobEvent> event = this.process(jobInitiated);
 
-		final Set<AbstractJobEvent> resultEvents = new HashSet<>(Set.of(this.publishState(jobInitiated.getEntity()),
-				new ResourceDemandCalculated(jobInitiated.getEntity(), calculatedDemand)));
+		final Set<AbstractJobEvent> resultEvents = new HashSet<>();
+		if (this.isWatched(ActiveResourceStateUpdated.class, jobInitiated.getEntity())) {
+			resultEvents.add(this.publishState(jobInitiated.getEntity()));
+		}
+		if (this.isWatched(ResourceDemandCalculated.class, jobInitiated.getEntity())) {
+			resultEvents.add(new ResourceDemandCalculated(jobInitiated.getEntity(), calculatedDemand));
+		}
 		if (event.isPresent()) {
 			resultEvents.add(event.get());
 		}
@@ -135,9 +147,23 @@ public abstract class AbstractActiveResource extends AbstractResource implements
 		}
 
 		final Set<AbstractJobEvent> resultEvents = new HashSet<>(this.process(jobProgressed));
-		resultEvents.add(this.publishState(jobProgressed.getEntity()));
+		if (this.isWatched(ActiveResourceStateUpdated.class, jobProgressed.getEntity())) {
+			resultEvents.add(this.publishState(jobProgressed.getEntity()));
+		}
 
 		return resultEvents;
 	}
 
+	/**
+	 * Checks whether a probe watches the processing resource of the job, i.e.
+	 * whether monitoring events of the given type must be emitted for it.
+	 */
+	private boolean isWatched(final Class<?> eventType, final Job job) {
+		if (job instanceof final ActiveJob activeJob) {
+			return this.monitoredElements.isWatched(eventType,
+					activeJob.getProcessingResourceSpecification().getId());
+		}
+		return true;
+	}
+
 }
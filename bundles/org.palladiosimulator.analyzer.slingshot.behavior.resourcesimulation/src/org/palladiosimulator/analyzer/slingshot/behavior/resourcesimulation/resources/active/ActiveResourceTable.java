@@ -2,8 +2,10 @@ package org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.res
 
 import java.util.Optional;
 
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.resources.ActiveResourceCompoundKey;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.resources.ProcessingRate;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.resources.AbstractResourceTable;
+import org.palladiosimulator.analyzer.slingshot.common.utils.MonitoredElements;
 import org.palladiosimulator.pcm.allocation.Allocation;
 import org.palladiosimulator.pcm.allocation.AllocationContext;
 import org.palladiosimulator.pcm.resourceenvironment.ProcessingResourceSpecification;
@@ -21,6 +23,13 @@ import de.uka.ipd.sdq.simucomframework.resources.SchedulingStrategy;
  */
 public final class ActiveResourceTable extends AbstractResourceTable<ActiveResourceCompoundKey, ActiveResource> {
 
+	/** The elements watched by probes, passed on to the resources. */
+	private final MonitoredElements monitoredElements;
+
+	public ActiveResourceTable(final MonitoredElements monitoredElements) {
+		this.monitoredElements = monitoredElements;
+	}
+
 	/**
 	 * Creates a new {@link ActiveResource} accordingly to the {@code spec}.
 	 *
@@ -38,18 +47,18 @@ public final class ActiveResourceTable extends AbstractResourceTable<ActiveResou
 		switch (SchedulingPolicyId.retrieveFromSchedulingPolicy(schedulingPolicy)) {
 		case FCFS:
 			resourceName = SchedulingStrategy.FCFS.toString();
-			resource = new FCFSResource(id, resourceName, numberOfReplicas, new ProcessingRate(spec.getProcessingRate_ProcessingResourceSpecification()));
+			resource = new FCFSResource(id, resourceName, numberOfReplicas, new ProcessingRate(spec.getProcessingRate_ProcessingResourceSpecification()), this.monitoredElements);
 			break;
 
 		case PROCESSOR_SHARING:
 			resourceName = SchedulingStrategy.PROCESSOR_SHARING.toString();
-			resource = new ProcessorSharingResource(id, resourceName, numberOfReplicas, new ProcessingRate(spec.getProcessingRate_ProcessingResourceSpecification()));
+			resource = new ProcessorSharingResource(id, resourceName, numberOfReplicas, new ProcessingRate(spec.getProcessingRate_ProcessingResourceSpecification()), this.monitoredElements);
 			break;
 
-//		case DELAY:
-//			resourceName = SchedulingStrategy.DELAY.toString();
-//			resource = new DelayResource(resourceId, resourceName);
-//			break;
+		case DELAY:
+			resourceName = SchedulingStrategy.DELAY.toString();
+			resource = new DelayResource(id, resourceName, new ProcessingRate(spec.getProcessingRate_ProcessingResourceSpecification()), this.monitoredElements);
+			break;
 
 		default:
 			/* In case of a resource type that is not known, nothing should happen
@@ -91,11 +100,7 @@ public final class ActiveResourceTable extends AbstractResourceTable<ActiveResou
 	}
 
 	public Optional<ActiveResource> getActiveResource(final ActiveResourceCompoundKey id) {
-		if (!this.resources.containsKey(id)) {
-			return Optional.empty();
-		}
-
-		return Optional.of(this.resources.get(id));
+		return Optional.ofNullable(this.resources.get(id));
 	}
 
 }
@@ -0,0 +1,86 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.resources.active;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.jobs.Job;
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.resources.ActiveResourceCompoundKey;
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.resources.IResource;
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.resources.ProcessingRate;
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.AbstractJobEvent;
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.ActiveResourceStateUpdated;
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.JobFinished;
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.JobInitiated;
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.JobProgressed;
+import org.palladiosimulator.analyzer.slingshot.common.utils.MonitoredElements;
+
+/**
+ * A delay resource has an infinite number of servers. Jobs therefore never
+ * wait and do not influence each other: each job is scheduled exactly once and
+ * finishes after its demand has passed.
+ */
+public final class DelayResource extends AbstractActiveResource {
+
+	/** The jobs that are currently delayed. */
+	private final Set<Job> delayedJobs = new HashSet<>();
+
+	/**
+	 * Constructs a new delay resource.
+	 *
+	 * @param type The processor resource type whose id will be this id.
+	 * @param name The name of the resource.
+	 * @param rate The specified PCM processing rate of the resource.
+	 * @param monitoredElements The elements watched by probes.
+	 */
+	public DelayResource(final ActiveResourceCompoundKey type, final String name, final ProcessingRate rate,
+			final MonitoredElements monitoredElements) {
+		super(type, name, IResource.INFINITE_CAPACITY, rate, monitoredElements);
+	}
+
+	/**
+	 * Handles the event by scheduling the job to finish after its demand.
+	 *
+	 * @return The {@link JobProgressed} event of the new job.
+	 */
+	@Override
+	protected Optional<AbstractJobEvent> process(final JobInitiated jobInitiated) {
+		final Job newJob = jobInitiated.getEntity();
+		this.delayedJobs.add(newJob);
+		return Optional.of(new JobProgressed(newJob, newJob.getDemand()));
+	}
+
+	/**
+	 * Handles the event by removing the job.
+	 *
+	 * @return The {@link JobFinished} event of the job, or nothing if the job was
+	 *         aborted in the meantime.
+	 */
+	@Override
+	protected Set<AbstractJobEvent> process(final JobProgressed jobProgressed) {
+		final Job job = jobProgressed.getEntity();
+		if (!this.delayedJobs.remove(job)) {
+			return Set.of();
+		}
+		job.updateDemand(0.0);
+		return Set.of(new JobFinished(job));
+	}
+
+	@Override
+	protected Set<AbstractJobEvent> abortJob(final Job job, final double time) {
+		this.delayedJobs.remove(job);
+		return Set.of();
+	}
+
+	@Override
+	public void clearJobs() {
+		this.delayedJobs.clear();
+	}
+
+	@Override
+	protected ActiveResourceStateUpdated publishState(final Job job) {
+		final int jobsAtResource = this.delayedJobs.size();
+		final double utilization = this.delayedJobs.isEmpty() ? 0 : 1;
+		return new ActiveResourceStateUpdated(job, jobsAtResource, utilization);
+	}
+}
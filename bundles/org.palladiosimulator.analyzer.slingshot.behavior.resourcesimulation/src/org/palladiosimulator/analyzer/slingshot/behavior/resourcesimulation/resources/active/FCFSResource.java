@@ -2,19 +2,19 @@ package org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.res
 
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
 
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.jobs.Job;
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.resources.IResource;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.resources.ProcessingRate;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.AbstractJobEvent;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.ActiveResourceStateUpdated;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.JobFinished;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.JobInitiated;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.JobProgressed;
-
-import de.uka.ipd.sdq.probfunction.math.util.MathTools;
-
+import org.palladiosimulator.analyzer.slingshot.common.utils.MonitoredElements;
 
 /*
  * TODO: Wait on progressing jobs before deleting ~(or JobCancelled)~
@@ -22,35 +22,46 @@ import de.uka.ipd.sdq.probfunction.math.util.MathTools;
 /**
  * A FCFSResource handles first jobs first, and then the remaining jobs will be
  * handled (first-come, first-served).
+ * <p>
+ * The resource has as many servers as its capacity (i.e. the number of
+ * replicas of the processing resource). Each server processes one job at a
+ * time and finishes it with its own {@link JobProgressed} event. Jobs that
+ * arrive while all servers are busy wait in a single FIFO queue.
  *
  * @author Julijan Katic, Floriment Klinaku, Sarah Stiess
  */
 public class FCFSResource extends AbstractActiveResource {
 
-	/** The FIFO queue of jobs to handle. */
-	private final Deque<Job> processes = new ArrayDeque<>();
+	/** The jobs that are currently processed, at most one per server. */
+	private final Set<Job> jobsInService = new LinkedHashSet<>();
 
-	/**
-	 * The value tracking the simulation time in order to specify the elapsed time
-	 * for the jobs.
-	 */
-	private double internalTimer;
+	/** The FIFO queue of jobs waiting for a free server. */
+	private final Deque<Job> waitingJobs = new ArrayDeque<>();
+
+	/** The number of servers of this resource. */
+	private final int numberOfServers;
 
 	/**
 	 * Constructs a new FCFS resource.
 	 *
 	 * @param type     The processor resource type whose id will be this id.
 	 * @param name     The name of the resource.
-	 * @param capacity The maximum capacity of the resource.
+	 * @param capacity The maximum capacity of the resource, i.e. the number of
+	 *                 servers.
+	 * @param rate     The specified PCM processing rate of the resource.
+	 * @param monitoredElements The elements watched by probes.
 	 */
-	public FCFSResource(final Object type, final String name, final long capacity, final ProcessingRate rate) {
-		super(type, name, capacity, rate);
+	public FCFSResource(final Object type, final String name, final long capacity, final ProcessingRate rate,
+			final MonitoredElements monitoredElements) {
+		super(type, name, capacity, rate, monitoredElements);
+		this.numberOfServers = capacity == IResource.INFINITE_CAPACITY ? Integer.MAX_VALUE
+				: (int) Math.max(1, Math.min(capacity, Integer.MAX_VALUE));
 	}
 
 	/**
-	 * Handles the event by adding the newly created job to the queue and updating
-	 * its internal timer. Will result in a {@link JobProgressed} event holding the
-	 * next job to process.
+	 * Handles the event by adding the newly created job to the queue. If a server
+	 * is free, the oldest waiting job is put into service. Will result in a
+	 * {@link JobProgressed} event holding the job that was put into service.
 	 *
 	 * @return {@link JobProgressed} events.
 	 */
@@ -58,21 +69,17 @@ public class FCFSResource extends AbstractActiveResource {
 	protected Optional<AbstractJobEvent> process(final JobInitiated jobInitiated) {
 		final Job newJob = jobInitiated.getEntity();
 
-		this.processes.add(newJob);
-
-		if(this.processes.size()!=1) {
-			return Optional.empty();
-		}
+		this.waitingJobs.add(newJob);
 
 		return this.scheduleNextEvent().map(j -> j);
 	}
 
 	/**
-	 * Handles the job by updating its internal timer and removing the job from the
-	 * queue.
+	 * Handles the job by removing the job from its server. All servers that are
+	 * free afterwards take the next waiting jobs.
 	 *
 	 * @return {@link JobFinished} event from that removed job, and
-	 *         {@link JobProgressed} from the next job to handle.
+	 *         {@link JobProgressed} from the next jobs to handle.
 	 */
 	@Override
 	public Set<AbstractJobEvent> process(final JobProgressed jobProgressed) {
@@ -82,73 +89,75 @@ public class FCFSResource extends AbstractActiveResource {
 		// assert MathTools.equalsDouble(0, job.getDemand()) : "Remaining demand (" +
 		// job.getDemand() + ") not zero!";
 
-		this.processes.remove(job);
-
-		final Optional<JobProgressed> next = this.scheduleNextEvent();
-		if (next.isPresent()) {
-			return Set.of(new JobFinished(job), next.get());
+		final Set<AbstractJobEvent> events = new LinkedHashSet<>();
+		if (this.jobsInService.remove(job)) {
+			events.add(new JobFinished(job));
 		}
-		return Set.of(new JobFinished(job));
+		/* Also if the job was aborted while it was in service, its server is free. */
+		this.scheduleWaitingJobs(events);
+		return events;
 	}
 
 	@Override
 	public void clearJobs() {
-		this.processes.clear();
+		this.jobsInService.clear();
+		this.waitingJobs.clear();
 	}
 
+	/**
+	 * Removes the job from its server or from the queue. A server that becomes
+	 * free by this immediately takes the next waiting job.
+	 *
+	 * @return {@link JobProgressed} event of the job put into service, if any.
+	 */
 	@Override
-	public void abortJob(final Job job) {
-		this.processes.remove(job);
+	public Set<AbstractJobEvent> abortJob(final Job job, final double time) {
+		if (!this.jobsInService.remove(job)) {
+			this.waitingJobs.remove(job);
+			return Set.of();
+		}
+		final Set<AbstractJobEvent> events = new LinkedHashSet<>();
+		this.scheduleWaitingJobs(events);
+		return events;
 	}
 
 	/**
+	 * Puts waiting jobs into service until all servers are busy or no job is
+	 * waiting anymore.
 	 *
-	 * Deprecated because not really needed for the FCFS resource.
-	 *
-	 * Updates the internal timer and the demand of the next job to handle by
-	 * subtracting the passed time from the demand.
-	 *
-	 * @param simulationTime The new simulation time. Must be greater than the
-	 *                       internal time.
-	 *
-	 *
+	 * @param events The set to add the {@link JobProgressed} events to.
 	 */
-	@Deprecated
-	private void updateInternalTimer(final double simulationTime) {
-		final double passedTime = simulationTime - this.internalTimer;
-
-		if (MathTools.less(0, passedTime)) {
-			final Job firstJob = this.processes.peek();
-			if (firstJob != null) {
-				double demand = firstJob.getDemand() - passedTime;
-				demand = MathTools.equalsDouble(demand, 0) ? 0.0 : demand; // avoid rounding issues.
-				firstJob.updateDemand(demand);
-			}
+	private void scheduleWaitingJobs(final Set<AbstractJobEvent> events) {
+		Optional<JobProgressed> next = this.scheduleNextEvent();
+		while (next.isPresent()) {
+			events.add(next.get());
+			next = this.scheduleNextEvent();
 		}
-
-		this.internalTimer = simulationTime;
 	}
 
 	/**
-	 * Schedules the next {@link JobProgressed} event by returning that event
-	 * accompanied with the next job to handle according to the FIFO principle.
+	 * Schedules the next {@link JobProgressed} event by putting the next job to
+	 * handle according to the FIFO principle into service, if there is a free
+	 * server.
 	 * <p>
-	 * The event will be delayed by the current job's demand.
+	 * The event will be delayed by the job's demand.
 	 *
 	 * @return The new JobProgressed event if there is any, an empty Optional
 	 *         otherwise.
 	 */
 	private Optional<JobProgressed> scheduleNextEvent() {
-		if (this.processes.isEmpty()) {
+		if (this.waitingJobs.isEmpty() || this.jobsInService.size() >= this.numberOfServers) {
 			return Optional.empty();
 		}
-		return Optional.of(new JobProgressed(this.processes.peek(), this.processes.peek().getDemand()));
+		final Job next = this.waitingJobs.poll();
+		this.jobsInService.add(next);
+		return Optional.of(new JobProgressed(next, next.getDemand()));
 	}
 
 	@Override
 	protected ActiveResourceStateUpdated publishState(final Job job) {
-		final int waitingJobs = this.processes.size();
-		final double utilization = this.processes.isEmpty() ? 0 : 1;
-		return new ActiveResourceStateUpdated(job, waitingJobs, utilization);
+		final int jobsAtResource = this.jobsInService.size() + this.waitingJobs.size();
+		final double utilization = (double) this.jobsInService.size() / this.numberOfServers;
+		return new ActiveResourceStateUpdated(job, jobsAtResource, utilization);
 	}
 }
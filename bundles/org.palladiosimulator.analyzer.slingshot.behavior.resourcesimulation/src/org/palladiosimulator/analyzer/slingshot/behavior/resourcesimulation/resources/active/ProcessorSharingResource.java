@@ -1,15 +1,17 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.resources.active;
 
 import java.util.ArrayList;
-import java.util.Hashtable;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Map.Entry;
+import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.apache.log4j.Logger;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.jobs.Job;
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.resources.ActiveResourceCompoundKey;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.resources.ProcessingRate;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.AbstractJobEvent;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.ActiveResourceStateUpdated;
@@ -17,6 +19,7 @@ import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.even
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.JobInitiated;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.JobProgressed;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.ProcessorSharingJobProgressed;
+import org.palladiosimulator.analyzer.slingshot.common.utils.MonitoredElements;
 
 import de.uka.ipd.sdq.probfunction.math.util.MathTools;
 
@@ -25,19 +28,31 @@ import de.uka.ipd.sdq.probfunction.math.util.MathTools;
  * specifically, it adheres to the RoundRobin model. This means that each job
  * will be processed for a specific time, and then the next job will run.
  * <p>
- * This is done by using the subtracting the shortest jobs demand from each
- * other job, and directly finishing that job, since the shortest job will
- * eventually finish first in this procedure.
+ * Instead of subtracting the processed demand from every job on each event,
+ * the resource keeps a global virtual time. The virtual time is the demand
+ * that each running job has received so far. Whenever a job arrives, its
+ * finish tag ({@code virtual time + demand}) is put into a min-heap. The job
+ * with the smallest finish tag is always the one to finish next, so arrivals
+ * and completions only cost a heap operation instead of a scan over all jobs.
  *
  * @author Julijan Katic
  */
 public final class ProcessorSharingResource extends AbstractActiveResource {
 
+	private static final Logger LOGGER = Logger.getLogger(ProcessorSharingResource.class);
+
 	/** The shortest time (in this case: demand) the job can have. */
 	private static final double JIFFY = 1e-9;
 
-	/** The set of jobs to process, sorted by its demand. */
-	private final Hashtable<Job, Double> runningJobs;
+	/** The jobs to process, mapped to their entries in {@link #finishTags}. */
+	private final Map<Job, FinishTag> runningJobs;
+
+	/**
+	 * The finish tags of the running jobs, ordered by their tag. Tags of aborted
+	 * jobs are removed lazily as soon as they reach the head.
+	 */
+	private final PriorityQueue<FinishTag> finishTags;
+
 	/** The list of cores, whose number specify the number of processes. */
 	private final List<Integer> numberProcessesOnCore;
 
@@ -47,8 +62,20 @@ public final class ProcessorSharingResource extends AbstractActiveResource {
 	 */
 	private double internalTime;
 
-	/** The current state of the processor sharing resource. */
-	private UUID currentState;
+	/**
+	 * The demand that each running job has received since the resource was idle
+	 * the last time.
+	 */
+	private double virtualTime;
+
+	/** Used to order jobs with equal finish tags by their arrival. */
+	private long arrivalCounter;
+
+	/** The handle of the outstanding {@link ProcessorSharingJobProgressed} event. */
+	private final ResourceTimer timer = new ResourceTimer();
+
+	/** The delay factor with which the outstanding event was scheduled. */
+	private double scheduledDelayFactor;
 
 	/**
 	 * Constructs a new processor sharing resource.
@@ -56,11 +83,15 @@ public final class ProcessorSharingResource extends AbstractActiveResource {
 	 * @param type     The processor resource type whose id will be this id.
 	 * @param name     The name of the resource.
 	 * @param capacity The maximum capacity of the resource.
+	 * @param rate     The specified PCM processing rate of the resource.
+	 * @param monitoredElements The elements watched by probes.
 	 */
-	public ProcessorSharingResource(final ActiveResourceCompoundKey type, final String name, final long capacity, final ProcessingRate rate) {
-		super(type, name, capacity, rate);
+	public ProcessorSharingResource(final ActiveResourceCompoundKey type, final String name, final long capacity,
+			final ProcessingRate rate, final MonitoredElements monitoredElements) {
+		super(type, name, capacity, rate, monitoredElements);
 
-		this.runningJobs = new Hashtable<>();
+		this.runningJobs = new HashMap<>();
+		this.finishTags = new PriorityQueue<>();
 		this.numberProcessesOnCore = new ArrayList<>((int) capacity);
 
 		for (int i = 0; i < capacity; i++) {
@@ -84,7 +115,12 @@ public final class ProcessorSharingResource extends AbstractActiveResource {
 			newJob.updateDemand(JIFFY);
 		}
 
-		this.runningJobs.put(newJob, newJob.getDemand());
+		final FinishTag tag = new FinishTag(newJob, this.virtualTime + newJob.getDemand(), this.arrivalCounter++);
+		final FinishTag replaced = this.runningJobs.put(newJob, tag);
+		if (replaced != null) {
+			replaced.removed = true;
+		}
+		this.finishTags.add(tag);
 		this.reportCoreUsage();
 
 		return this.scheduleNextEvent().map(j -> j);
@@ -93,9 +129,8 @@ public final class ProcessorSharingResource extends AbstractActiveResource {
 	/**
 	 * Processes the {@link JobProgressed} event by checking whether the expected
 	 * state is equal to the expected event in the {@link JobProgressed} event,
-	 * updating the internal timer and removing the shortest job from the list. The
-	 * demand of each remaining job is decreased by that shortest demand. This
-	 * results in the {@link JobFinished} event.
+	 * updating the internal timer and removing the shortest job from the list.
+	 * This results in the {@link JobFinished} event.
 	 *
 	 * @return The {@link JobFinished} event of the shortest, removed job, and the
 	 *         {@link JobProgressed} event of the next job to process.
@@ -107,14 +142,14 @@ public final class ProcessorSharingResource extends AbstractActiveResource {
 		}
 
 		final ProcessorSharingJobProgressed processorSharingJobProgressed = (ProcessorSharingJobProgressed) jobProgressed;
-		if (processorSharingJobProgressed.getExpectedState().compareTo(this.currentState) != 0) {
+		if (!this.timer.fire(processorSharingJobProgressed.getExpectedState())) {
 			return Set.of();
 		}
 
 		this.updateInternalTimer(jobProgressed.time());
 
 		final Job shortestJob = processorSharingJobProgressed.getEntity();
-		this.runningJobs.remove(shortestJob);
+		this.removeJob(shortestJob);
 		this.reportCoreUsage();
 
 		final Optional<ProcessorSharingJobProgressed> next = this.scheduleNextEvent();
@@ -124,73 +159,141 @@ public final class ProcessorSharingResource extends AbstractActiveResource {
 		return Set.of(new JobFinished(shortestJob));
 	}
 
+	/**
+	 * Removes the job after crediting all running jobs with the service they
+	 * received until the abort. As the remaining jobs share the resource among
+	 * fewer jobs from now on, the next event is rescheduled.
+	 *
+	 * @return The {@link JobProgressed} event of the next job to process, if it
+	 *         had to be rescheduled.
+	 */
 	@Override
-	public void abortJob(final Job job) {
-		this.runningJobs.remove(job);
+	public Set<AbstractJobEvent> abortJob(final Job job, final double time) {
+		if (!this.runningJobs.containsKey(job)) {
+			return Set.of();
+		}
+
+		this.updateInternalTimer(time);
+		if (this.timer.isArmedFor(job)) {
+			this.timer.cancel();
+		}
+		this.removeJob(job);
 		this.reportCoreUsage();
+
+		final Optional<ProcessorSharingJobProgressed> next = this.scheduleNextEvent();
+		if (next.isPresent()) {
+			return Set.of(next.get());
+		}
+		return Set.of();
 	}
 
 	@Override
 	public void clearJobs() {
+		LOGGER.debug(String.format("%s: %d stale progress events avoided, %d stale progress events dropped.",
+				this.getId(), this.timer.getAvoidedStaleEvents(), this.timer.getDroppedStaleEvents()));
+
+		this.timer.cancel();
 		this.runningJobs.clear();
+		this.finishTags.clear();
+		this.virtualTime = 0;
 
 		for (int i = 0; i < this.getCapacity(); i++) {
 			this.numberProcessesOnCore.set(i, 0);
 		}
 	}
 
+	/**
+	 * Removes the job from the running jobs and updates its demand to the demand
+	 * it has left. Its finish tag is only marked as removed and will be dropped
+	 * from the heap once it reaches the head.
+	 * <p>
+	 * If no job is left afterwards, the virtual time is reset in order to keep the
+	 * finish tags small and thus avoid rounding errors.
+	 *
+	 * @param job The job to remove.
+	 */
+	private void removeJob(final Job job) {
+		final FinishTag tag = this.runningJobs.remove(job);
+		if (tag == null) {
+			return;
+		}
+
+		tag.removed = true;
+		final double remainingDemand = tag.tag - this.virtualTime;
+		job.updateDemand(remainingDemand < JIFFY ? 0.0 : remainingDemand);
+
+		if (this.runningJobs.isEmpty()) {
+			this.finishTags.clear();
+			this.virtualTime = 0;
+		} else {
+			this.purgeRemovedTags();
+		}
+	}
+
+	/**
+	 * Drops the finish tags of removed jobs from the head of the heap, so that the
+	 * head always refers to a running job.
+	 */
+	private void purgeRemovedTags() {
+		while (!this.finishTags.isEmpty() && this.finishTags.peek().removed) {
+			this.finishTags.poll();
+		}
+	}
+
 	/**
 	 * Returns the event holding the shortest job. The event will have a delay of
 	 * the remaining time the shortest job would have to be processed. If there is
 	 * no job left, an empty Optional will be returned.
+	 * <p>
+	 * If the outstanding event already belongs to the shortest job and the delay
+	 * factor did not change since it was scheduled, that event still fires at the
+	 * right time. In that case, it is kept and an empty Optional is returned, so
+	 * that no stale event is left in the event queue.
 	 *
-	 * Furthermore, the internal state will be updated.
+	 * Otherwise, the timer will be re-armed.
 	 *
 	 * @return The event holding the shortest job.
 	 */
 	private Optional<ProcessorSharingJobProgressed> scheduleNextEvent() {
-		if (this.runningJobs.isEmpty()) {
+		this.purgeRemovedTags();
+		if (this.finishTags.isEmpty()) {
 			return Optional.empty();
 		}
 
-		this.currentState = UUID.randomUUID();
+		final FinishTag shortest = this.finishTags.peek();
+		final double delayFactor = this.getProcessingDelayFactorPerProcess();
 
-		// get shortest job
-		Job shortestJob = null;
-		for (final Job job : runningJobs.keySet()) {
-			if (shortestJob == null || runningJobs.get(shortestJob) > runningJobs.get(job)) {
-				shortestJob = job;
-			}
+		if (this.timer.isArmedFor(shortest.job) && delayFactor == this.scheduledDelayFactor) {
+			this.timer.keep();
+			return Optional.empty();
 		}
 
-		double remainingTime = runningJobs.get(shortestJob) * this.getProcessingDelayFactorPerProcess();
+		final long epoch = this.timer.rearm(shortest.job);
+		this.scheduledDelayFactor = delayFactor;
+
+		double remainingTime = (shortest.tag - this.virtualTime) * delayFactor;
 
 		/*
 		 * Update remaining time to 0 if it is too small in order to avoid rounding errors.
 		 */
 		remainingTime = remainingTime < JIFFY ? 0.0 : remainingTime;
 
-		return Optional.of(new ProcessorSharingJobProgressed(shortestJob, remainingTime, this.currentState));
+		return Optional.of(new ProcessorSharingJobProgressed(shortest.job, remainingTime, epoch));
 	}
 
 	/**
-	 * Updates the internal timer according to the simulationTime, and updates the
-	 * demand of each remaining job.
+	 * Updates the internal timer according to the simulationTime, and advances
+	 * the virtual time by the demand that each running job has received in the
+	 * meantime.
 	 *
 	 * @param simulationTime The new simulation time. Should be greater than the
 	 *                       internal time.
 	 */
 	private void updateInternalTimer(final double simulationTime) {
 		final double passedTime = simulationTime - this.internalTime;
-		final double processedDemandPerThread = passedTime / this.getProcessingDelayFactorPerProcess();
-
-		if (MathTools.less(0, passedTime)) {
-			for (final Entry<Job, Double> e : runningJobs.entrySet()) {
-				final double rem = e.getValue() - processedDemandPerThread;
-				e.setValue(rem);
-				e.getKey().updateDemand(rem);
-			}
 
+		if (MathTools.less(0, passedTime) && !this.runningJobs.isEmpty()) {
+			this.virtualTime += passedTime / this.getProcessingDelayFactorPerProcess();
 		}
 
 		this.internalTime = simulationTime;
@@ -283,4 +386,30 @@ public final class ProcessorSharingResource extends AbstractActiveResource {
 
 		return new ActiveResourceStateUpdated(job, waitingJobs, utilization);
 	}
+
+	/**
+	 * The finish tag of a running job, that is the virtual time at which the job
+	 * will have received its whole demand.
+	 */
+	private static final class FinishTag implements Comparable<FinishTag> {
+
+		private final Job job;
+		private final double tag;
+		private final long arrival;
+
+		/** Whether the job has left the resource and the tag is thus stale. */
+		private boolean removed;
+
+		private FinishTag(final Job job, final double tag, final long arrival) {
+			this.job = job;
+			this.tag = tag;
+			this.arrival = arrival;
+		}
+
+		@Override
+		public int compareTo(final FinishTag other) {
+			final int byTag = Double.compare(this.tag, other.tag);
+			return byTag != 0 ? byTag : Long.compare(this.arrival, other.arrival);
+		}
+	}
 }
@@ -0,0 +1,99 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.resources.active;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.jobs.Job;
+
+/**
+ * A resource-local handle for the single outstanding progress event of a
+ * resource. Every time the resource schedules a new progress event, the timer
+ * is re-armed and its epoch is incremented. Events carry the epoch they were
+ * scheduled with, so that superseded events can be recognized and dropped when
+ * they fire.
+ * <p>
+ * Since events cannot be removed from the simulation's event queue once they
+ * are scheduled, the best way to avoid stale events is not to schedule them in
+ * the first place. Resources should therefore {@link #keep()} the outstanding
+ * event whenever it is still valid instead of re-arming the timer.
+ */
+final class ResourceTimer {
+
+	/** The epoch of the outstanding event. */
+	private long epoch;
+
+	/** The job of the outstanding event, or {@code null} if there is none. */
+	private Job armedFor;
+
+	/** The number of times the outstanding event was kept instead of re-armed. */
+	private long avoidedStaleEvents;
+
+	/** The number of superseded events that fired and were dropped. */
+	private long droppedStaleEvents;
+
+	/**
+	 * Arms the timer for a new event. Any outstanding event becomes stale.
+	 *
+	 * @param job The job of the new event.
+	 * @return The epoch that the new event must carry.
+	 */
+	long rearm(final Job job) {
+		this.armedFor = job;
+		return ++this.epoch;
+	}
+
+	/**
+	 * Keeps the outstanding event, because it is still valid. This is counted as
+	 * an avoided stale event.
+	 */
+	void keep() {
+		this.avoidedStaleEvents++;
+	}
+
+	/**
+	 * Invalidates the outstanding event, if there is any.
+	 */
+	void cancel() {
+		if (this.armedFor != null) {
+			this.armedFor = null;
+			this.epoch++;
+		}
+	}
+
+	/**
+	 * Returns whether there is an outstanding event for the given job.
+	 *
+	 * @param job The job to check.
+	 * @return true iff the outstanding event belongs to {@code job}.
+	 */
+	boolean isArmedFor(final Job job) {
+		return this.armedFor != null && this.armedFor.equals(job);
+	}
+
+	/**
+	 * Is called when an event fires. If the event carries the current epoch, the
+	 * timer is disarmed, otherwise the event is counted as stale.
+	 *
+	 * @param expectedEpoch The epoch carried by the event.
+	 * @return true iff the event is the outstanding event.
+	 */
+	boolean fire(final long expectedEpoch) {
+		if (this.armedFor == null || expectedEpoch != this.epoch) {
+			this.droppedStaleEvents++;
+			return false;
+		}
+		this.armedFor = null;
+		return true;
+	}
+
+	/**
+	 * @return the number of progress events that did not have to be scheduled.
+	 */
+	long getAvoidedStaleEvents() {
+		return this.avoidedStaleEvents;
+	}
+
+	/**
+	 * @return the number of superseded progress events that fired.
+	 */
+	long getDroppedStaleEvents() {
+		return this.droppedStaleEvents;
+	}
+}
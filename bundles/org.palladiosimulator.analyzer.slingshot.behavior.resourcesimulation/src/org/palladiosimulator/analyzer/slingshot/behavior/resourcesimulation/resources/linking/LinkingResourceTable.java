@@ -1,9 +1,11 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.resources.linking;
 
 import java.util.List;
+import java.util.SplittableRandom;
 import java.util.stream.Collectors;
 
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.resources.AbstractResourceTable;
+import org.palladiosimulator.analyzer.slingshot.common.utils.MonitoredElements;
 import org.palladiosimulator.pcm.allocation.Allocation;
 import org.palladiosimulator.pcm.resourceenvironment.LinkingResource;
 import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
@@ -16,13 +18,25 @@ import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
  */
 public class LinkingResourceTable extends AbstractResourceTable<String, SimulatedLinkingResource> {
 
+	/** The random stream for simulating failures of the linking resources. */
+	private final SplittableRandom failureRandom;
+
+	/** The elements watched by probes, passed on to the resources. */
+	private final MonitoredElements monitoredElements;
+
+	public LinkingResourceTable(final SplittableRandom failureRandom, final MonitoredElements monitoredElements) {
+		this.failureRandom = failureRandom;
+		this.monitoredElements = monitoredElements;
+	}
+
 	public void buildTable(final Allocation allocation) {
 		allocation.getTargetResourceEnvironment_Allocation().getLinkingResources__ResourceEnvironment()
 				.forEach(this::createSimulatedLinkingResource);
 	}
 
 	public void createSimulatedLinkingResource(final LinkingResource linkingResource) {
-		this.resources.put(linkingResource.getId(), new SimulatedLinkingResource(linkingResource));
+		this.resources.put(linkingResource.getId(), new SimulatedLinkingResource(linkingResource, this.failureRandom,
+				this.monitoredElements));
 	}
 
 	public List<SimulatedLinkingResource> findLinkingResourceBetweenContainers(final ResourceContainer from,
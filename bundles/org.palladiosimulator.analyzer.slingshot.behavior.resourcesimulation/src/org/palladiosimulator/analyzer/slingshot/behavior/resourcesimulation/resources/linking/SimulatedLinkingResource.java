@@ -1,7 +1,9 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.resources.linking;
 
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SplittableRandom;
 
 import org.apache.log4j.Logger;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.entities.jobs.Job;
@@ -12,6 +14,7 @@ import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.even
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.JobInitiated;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.JobProgressed;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.resources.active.FCFSResource;
+import org.palladiosimulator.analyzer.slingshot.common.utils.MonitoredElements;
 import org.palladiosimulator.pcm.resourceenvironment.CommunicationLinkResourceSpecification;
 import org.palladiosimulator.pcm.resourceenvironment.LinkingResource;
 
@@ -23,10 +26,14 @@ public class SimulatedLinkingResource extends FCFSResource {
 	private final double failureRate;
 	private final LinkingResource linkingResource;
 
-	public SimulatedLinkingResource(final LinkingResource linkingResource) {
+	/** The random stream for simulating failures. */
+	private final SplittableRandom failureRandom;
+
+	public SimulatedLinkingResource(final LinkingResource linkingResource, final SplittableRandom failureRandom,
+			final MonitoredElements monitoredElements) {
 		super(linkingResource.getId(), linkingResource.getEntityName(), 1, new ProcessingRate(linkingResource
 				.getCommunicationLinkResourceSpecifications_LinkingResource()
-				.getThroughput_CommunicationLinkResourceSpecification()));
+				.getThroughput_CommunicationLinkResourceSpecification()), monitoredElements);
 		
 		final CommunicationLinkResourceSpecification spec = linkingResource
 				.getCommunicationLinkResourceSpecifications_LinkingResource();
@@ -34,6 +41,7 @@ public class SimulatedLinkingResource extends FCFSResource {
 		this.linkingResource = linkingResource;
 		this.latency = new ProcessingRate(spec.getLatency_CommunicationLinkResourceSpecification());
 		this.failureRate = spec.getFailureProbability();
+		this.failureRandom = failureRandom;
 	}
 
 
@@ -50,15 +58,15 @@ public class SimulatedLinkingResource extends FCFSResource {
 
 	@Override
 	public Set<AbstractJobEvent> onJobProgressed(final JobProgressed jobProgressed) {
-		final double ranNumber = Math.random();
+		final double ranNumber = this.failureRandom.nextDouble();
 		final Job job = jobProgressed.getEntity();
 
 		if (ranNumber < this.failureRate) {
-			this.abortJob(job);
-
-			return Set.of(new JobAborted(job, 0, String.format(
+			final Set<AbstractJobEvent> events = new HashSet<>(this.abortJob(job, jobProgressed.time()));
+			events.add(new JobAborted(job, 0, String.format(
 					"Linking resource simulated a failure: Number was %f and thus within the failure rate of %f",
 					ranNumber, this.failureRate)));
+			return events;
 		}
 
 
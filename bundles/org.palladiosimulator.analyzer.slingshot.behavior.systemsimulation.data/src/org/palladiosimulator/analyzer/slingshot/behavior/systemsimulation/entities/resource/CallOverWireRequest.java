@@ -1,7 +1,6 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.resource;
 
 import java.util.Optional;
-import java.util.UUID;
 
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.GeneralEntryRequest;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.User;
@@ -21,7 +20,10 @@ import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
  */
 public final class CallOverWireRequest {
 
-	private final String id;
+	private final long id;
+
+	/** The id rendered as a string, created on demand. */
+	private String idString;
 
 	/** The information of where the call is coming from. */
 	private final AssemblyContext from;
@@ -49,14 +51,17 @@ public final class CallOverWireRequest {
 		this.to = builder.to;
 		this.signature = builder.signature;
 		this.user = builder.user;
-		this.id = UUID.randomUUID().toString();
+		this.id = builder.id;
 		this.entryRequest = builder.entryRequest;
 		this.replyTo = Optional.ofNullable(builder.replyTo);
 		this.variablesToConsider = builder.variablesToConsider;
 	}
 
 	public String getId() {
-		return id;
+		if (this.idString == null) {
+			this.idString = Long.toString(this.id);
+		}
+		return this.idString;
 	}
 
 	public SimulatedStackframe<Object> getVariablesToConsider() {
@@ -92,12 +97,14 @@ public final class CallOverWireRequest {
 	 * {@link #getReplyTo()} is not empty, and switches the stackframe to consider
 	 * for the bytesize calculation.
 	 * 
+	 * @param id               The id of the response request.
 	 * @param returnStackframe The stackframe to consider for the new bytesize
 	 *                         calculation.
 	 * @return A response request to this one.
 	 */
-	public CallOverWireRequest createReplyRequest(final SimulatedStackframe<Object> returnStackframe) {
+	public CallOverWireRequest createReplyRequest(final long id, final SimulatedStackframe<Object> returnStackframe) {
 		return builder()
+				.id(id)
 				.from(this.from)
 				.to(this.to)
 				.entryRequest(this.entryRequest)
@@ -113,6 +120,7 @@ public final class CallOverWireRequest {
 	}
 
 	public static final class Builder {
+		private long id;
 		private AssemblyContext from;
 		private AssemblyContext to;
 		private Signature signature;
@@ -124,6 +132,11 @@ public final class CallOverWireRequest {
 		private Builder() {
 		}
 
+		public Builder id(final long id) {
+			this.id = id;
+			return this;
+		}
+
 		public Builder from(final AssemblyContext from) {
 			this.from = from;
 			return this;
@@ -0,0 +1,76 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.resource;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Joins the resource demands of a single internal action, so that the
+ * interpretation continues exactly once, after all of its demands have been
+ * processed.
+ * <p>
+ * The demands are either processed in parallel, i.e. all of them are requested
+ * at once, or sequentially, i.e. the next demand is only requested after the
+ * previous one has been processed.
+ * <p>
+ * Every {@link ResourceDemandRequest} of the internal action references the
+ * same join (see {@link ResourceDemandRequest#getJoin()}).
+ */
+public final class ResourceDemandJoin {
+
+	private final boolean sequential;
+	private final Deque<ResourceDemandRequest> queued = new ArrayDeque<>();
+	private int outstanding;
+
+	/**
+	 * Instantiates the join.
+	 *
+	 * @param sequential Whether the demands are processed one after another
+	 *                   instead of in parallel.
+	 */
+	public ResourceDemandJoin(final boolean sequential) {
+		this.sequential = sequential;
+	}
+
+	/**
+	 * Starts the join on the requests of the internal action. The requests must
+	 * reference this join.
+	 *
+	 * @param requests The requests of all demands of the internal action.
+	 * @return the requests to issue now: all of them if processed in parallel,
+	 *         otherwise only the first one.
+	 */
+	public List<ResourceDemandRequest> start(final List<ResourceDemandRequest> requests) {
+		Preconditions.checkState(this.outstanding == 0, "The join has already been started.");
+		Preconditions.checkArgument(!requests.isEmpty(), "There must be at least one request to join.");
+		this.outstanding = requests.size();
+		if (!this.sequential) {
+			return requests;
+		}
+		this.queued.addAll(requests.subList(1, requests.size()));
+		return List.of(requests.get(0));
+	}
+
+	/**
+	 * Marks one of the requests as processed.
+	 *
+	 * @return the request to issue next, if the demands are processed
+	 *         sequentially and there are requests left.
+	 * @throws IllegalStateException if all requests have already been processed.
+	 */
+	public Optional<ResourceDemandRequest> processed() {
+		Preconditions.checkState(this.outstanding > 0, "All requests have already been processed.");
+		this.outstanding--;
+		return Optional.ofNullable(this.queued.poll());
+	}
+
+	/**
+	 * @return true iff all requests have been processed.
+	 */
+	public boolean isCompleted() {
+		return this.outstanding == 0;
+	}
+}
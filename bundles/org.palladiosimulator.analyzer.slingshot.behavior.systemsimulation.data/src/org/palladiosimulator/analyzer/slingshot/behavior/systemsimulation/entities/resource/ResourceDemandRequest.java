@@ -60,6 +60,19 @@ public final class ResourceDemandRequest {
 	 */
 	private final Optional<PassiveResource> passiveResource;
 
+	/**
+	 * The already evaluated demand, if this request aggregates the demands of
+	 * several iterations of a loop. Otherwise, the demand is evaluated from the
+	 * parametric resource demand.
+	 */
+	private final Optional<Double> aggregatedDemand;
+
+	/**
+	 * The join of all demands of the same internal action, if the action has more
+	 * than one demand.
+	 */
+	private final Optional<ResourceDemandJoin> join;
+
 	/**
 	 * Creates the request. If this is a passive resource, but no passive resource
 	 * is specified, then an exception is thrown.
@@ -77,6 +90,8 @@ public final class ResourceDemandRequest {
 		this.parametricResourceDemand = builder.parametricResourceDemand;
 		this.resourceType = builder.resourceType;
 		this.passiveResource = builder.passiveResource;
+		this.aggregatedDemand = builder.aggregatedDemand;
+		this.join = builder.join;
 	}
 
 	/**
@@ -137,6 +152,28 @@ public final class ResourceDemandRequest {
 		return this.passiveResource;
 	}
 
+	/**
+	 * Returns the already evaluated demand, if this request aggregates the demands
+	 * of several loop iterations. If present, the specification of the parametric
+	 * resource demand must not be evaluated again.
+	 *
+	 * @return the aggregated demand, or an empty optional.
+	 */
+	public Optional<Double> getAggregatedDemand() {
+		return this.aggregatedDemand;
+	}
+
+	/**
+	 * Returns the join of all demands of the same internal action. The
+	 * interpretation must only continue once the join has completed.
+	 *
+	 * @return the join, or an empty optional if this is the only demand of the
+	 *         action.
+	 */
+	public Optional<ResourceDemandJoin> getJoin() {
+		return this.join;
+	}
+
 	/**
 	 * Creates builder to build {@link ResourceDemandRequest}.
 	 *
@@ -157,6 +194,8 @@ public final class ResourceDemandRequest {
 		private ParametricResourceDemand parametricResourceDemand;
 		private ResourceType resourceType = ResourceType.ACTIVE;
 		private Optional<PassiveResource> passiveResource = Optional.empty();
+		private Optional<Double> aggregatedDemand = Optional.empty();
+		private Optional<ResourceDemandJoin> join = Optional.empty();
 
 		private Builder() {
 		}
@@ -195,6 +234,16 @@ public final class ResourceDemandRequest {
 			return this;
 		}
 
+		public Builder withAggregatedDemand(final double aggregatedDemand) {
+			this.aggregatedDemand = Optional.of(aggregatedDemand);
+			return this;
+		}
+
+		public Builder withJoin(final ResourceDemandJoin join) {
+			this.join = Optional.of(builderNonNull(join));
+			return this;
+		}
+
 		private static <T> T builderNonNull(final T reference) {
 			return Preconditions.checkNotNull(reference, "The builder does not allow null values.");
 		}
@@ -7,6 +7,7 @@ import javax.annotation.processing.Generated;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.resource.CallOverWireRequest;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.SeffBehaviorContextHolder;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.user.RequestProcessingContext;
+import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.interpretationcontext.UserInterpretationContext;
 import org.palladiosimulator.pcm.core.composition.AssemblyContext;
 
 import com.google.common.base.Preconditions;
@@ -16,6 +17,12 @@ import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
 /**
  * The SEFFInterpretationContext is used for keeping track of the RDSeff
  * interpertation.
+ * <p>
+ * Contexts are immutable. The effective result stack frame and the user
+ * interpretation context of the root request are resolved once when a context
+ * is created, as both only depend on the parent and caller chains. Child
+ * contexts are usually created with {@link #createChild(SeffBehaviorContextHolder)},
+ * which avoids the builder.
  *
  * @author Julijan Katic, Sarah Stieß
  * @version 1.0
@@ -51,19 +58,59 @@ public final class SEFFInterpretationContext {
 	 */
 	private final SimulatedStackframe<Object> resultStackframe;
 
+	/**
+	 * The {@link #resultStackframe} of this context or the nearest parent that has
+	 * one, or {@code null} if the users current stackframe should be used.
+	 */
+	private final SimulatedStackframe<Object> effectiveResultStackframe;
+
+	/**
+	 * The user interpretation context of the request, taken from this context or
+	 * else from the caller or parent chain. May be {@code null}.
+	 */
+	private final UserInterpretationContext userInterpretationContext;
+
+	/** This context wrapped for use as parent, created on demand. */
+	private Optional<SEFFInterpretationContext> asParent;
+
 	@Generated("SparkTools")
 	private SEFFInterpretationContext(final Builder builder) {
-		assert builder.callOverWireRequest == null
-				|| (builder.callOverWireRequest != null && builder.calledFrom.isPresent())
+		this(builder.behaviorContext, builder.requestProcessingContext, builder.assemblyContext, builder.calledFrom,
+				Optional.ofNullable(builder.callOverWireRequest),
+				builder.parent == null ? Optional.empty() : builder.parent.asParent(), builder.resultStackframe);
+	}
+
+	private SEFFInterpretationContext(final SeffBehaviorContextHolder behaviorContext,
+			final RequestProcessingContext requestProcessingContext, final AssemblyContext assemblyContext,
+			final Optional<SEFFInterpretationContext> calledFrom,
+			final Optional<CallOverWireRequest> callOverWireRequest, final Optional<SEFFInterpretationContext> parent,
+			final SimulatedStackframe<Object> resultStackframe) {
+		assert callOverWireRequest.isEmpty() || calledFrom.isPresent()
 				: String.format("Missing caller in %s", this.getClass().getSimpleName());
 
-		this.calledFrom = builder.calledFrom;
-		this.behaviorContext = builder.behaviorContext;
-		this.requestProcessingContext = builder.requestProcessingContext;
-		this.assemblyContext = builder.assemblyContext;
-		this.callOverWireRequest = Optional.ofNullable(builder.callOverWireRequest);
-		this.parent = Optional.ofNullable(builder.parent);
-		this.resultStackframe = builder.resultStackframe;
+		this.calledFrom = calledFrom;
+		this.behaviorContext = behaviorContext;
+		this.requestProcessingContext = requestProcessingContext;
+		this.assemblyContext = assemblyContext;
+		this.callOverWireRequest = callOverWireRequest;
+		this.parent = parent;
+		this.resultStackframe = resultStackframe;
+
+		if (resultStackframe != null || parent.isEmpty()) {
+			this.effectiveResultStackframe = resultStackframe;
+		} else {
+			this.effectiveResultStackframe = parent.get().effectiveResultStackframe;
+		}
+
+		if (requestProcessingContext != null && requestProcessingContext.getUserInterpretationContext() != null) {
+			this.userInterpretationContext = requestProcessingContext.getUserInterpretationContext();
+		} else if (calledFrom.isPresent()) {
+			this.userInterpretationContext = calledFrom.get().userInterpretationContext;
+		} else if (parent.isPresent()) {
+			this.userInterpretationContext = parent.get().userInterpretationContext;
+		} else {
+			this.userInterpretationContext = null;
+		}
 	}
 
 	/**
@@ -107,18 +154,60 @@ public final class SEFFInterpretationContext {
 	 *         user's stack frame.
 	 */
 	public SimulatedStackframe<Object> getCurrentResultStackframe() {
-		if (this.resultStackframe != null) {
-			return this.resultStackframe;
+		if (this.effectiveResultStackframe != null) {
+			return this.effectiveResultStackframe;
 		}
-
-		return this.parent.map(pr -> pr.getCurrentResultStackframe())
-				.orElseGet(() -> this.requestProcessingContext.getUser().getStack().currentStackFrame());
+		return this.requestProcessingContext.getUser().getStack().currentStackFrame();
 	}
 
 	public Optional<SEFFInterpretationContext> getParent() {
 		return this.parent;
 	}
 
+	/**
+	 * Returns the user interpretation context of the request this context belongs
+	 * to. It is the one of the {@link #getRequestProcessingContext()} if set, or
+	 * else the one of the caller, or else the one of the parent.
+	 *
+	 * @return the user interpretation context, or an empty optional if there is
+	 *         none in the whole chain.
+	 */
+	public Optional<UserInterpretationContext> getUserInterpretationContext() {
+		return Optional.ofNullable(this.userInterpretationContext);
+	}
+
+	/**
+	 * Creates a child context of this with the given behavior context. The child
+	 * has the same request processing context, assembly context and caller as
+	 * this, and no result stack frame of its own.
+	 *
+	 * @param behaviorContext The behavior context of the child.
+	 * @return The child context.
+	 */
+	public SEFFInterpretationContext createChild(final SeffBehaviorContextHolder behaviorContext) {
+		return new SEFFInterpretationContext(Preconditions.checkNotNull(behaviorContext), this.requestProcessingContext,
+				this.assemblyContext, this.calledFrom, Optional.empty(), this.asParent(), null);
+	}
+
+	/**
+	 * Creates a copy of this context whose result stack frame is fixed to the
+	 * current result stack frame, see {@link #getCurrentResultStackframe()}. This
+	 * is the same as {@code update().build()}.
+	 *
+	 * @return The copy.
+	 */
+	public SEFFInterpretationContext withCurrentResultStackframe() {
+		return new SEFFInterpretationContext(this.behaviorContext, this.requestProcessingContext, this.assemblyContext,
+				this.calledFrom, this.callOverWireRequest, this.parent, this.getCurrentResultStackframe());
+	}
+
+	private Optional<SEFFInterpretationContext> asParent() {
+		if (this.asParent == null) {
+			this.asParent = Optional.of(this);
+		}
+		return this.asParent;
+	}
+
 	/**
 	 * Creates a child context from this with empty fields, except that
 	 * {@link #getParent()} will point to this and
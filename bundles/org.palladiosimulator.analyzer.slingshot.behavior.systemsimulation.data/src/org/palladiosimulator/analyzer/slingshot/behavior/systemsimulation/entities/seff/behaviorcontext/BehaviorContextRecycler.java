@@ -0,0 +1,114 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.User;
+import org.palladiosimulator.analyzer.slingshot.common.utils.ExecutionOptions;
+import org.palladiosimulator.pcm.seff.ResourceDemandingBehaviour;
+
+/**
+ * Recycles the {@link SeffBehaviorWrapper}s of finished requests.
+ * <p>
+ * Context holders whose behaviors have finished are collected per user with
+ * {@link #collect(User, SeffBehaviorContextHolder)}. Once the request of the
+ * user has finished, {@link #release(User)} releases their wrappers, which are
+ * then reused for new context holders. Holders that have not finished, e.g.
+ * those of forked behaviors that are not synchronized, are never collected.
+ * <p>
+ * The released wrappers are pooled by the recycler, of which there is one per
+ * simulation run. Root context holders that are created with the recycler
+ * obtain their wrappers from it, and so do all of their children; all other
+ * holders create new wrappers.
+ * <p>
+ * A holder that is used after its behaviors or its parent behavior were
+ * released fails with an {@link IllegalStateException}, also if the wrappers
+ * have been reused in the meantime. If use after release should be detected
+ * also for wrappers that are referenced directly, released wrappers are not
+ * reused.
+ */
+@Singleton
+public final class BehaviorContextRecycler {
+
+	/** The maximum number of released wrappers kept for reuse. */
+	private static final int MAX_POOLED = 1024;
+
+	private final boolean reuse;
+
+	private final Map<User, List<SeffBehaviorContextHolder>> collectedHolders = new HashMap<>();
+
+	/** The released wrappers that may be reused. */
+	private final ArrayDeque<SeffBehaviorWrapper> pool = new ArrayDeque<>();
+
+	/**
+	 * @param detectUseAfterRelease Whether released wrappers are kept unusable
+	 *                              instead of being reused.
+	 */
+	public BehaviorContextRecycler(final boolean detectUseAfterRelease) {
+		this.reuse = !detectUseAfterRelease;
+	}
+
+	/**
+	 * Creates the recycler of a simulation run. Whether it is used at all is up to
+	 * {@link ExecutionOptions#recycleBehaviorContexts()}.
+	 *
+	 * @param options The execution options of the run.
+	 */
+	@Inject
+	public BehaviorContextRecycler(final ExecutionOptions options) {
+		this(options.checkRecycledBehaviorContexts());
+	}
+
+	/**
+	 * Collects the holder for release at the end of the user's request, if its
+	 * behaviors have finished. Collecting a holder again has no effect.
+	 *
+	 * @param user   The user whose request the holder belongs to.
+	 * @param holder The holder.
+	 */
+	public void collect(final User user, final SeffBehaviorContextHolder holder) {
+		if (holder.hasFinished() && holder.collect()) {
+			this.collectedHolders.computeIfAbsent(user, u -> new ArrayList<>()).add(holder);
+		}
+	}
+
+	/**
+	 * Releases all holders collected for the user.
+	 *
+	 * @param user The user whose request has finished.
+	 */
+	public void release(final User user) {
+		final List<SeffBehaviorContextHolder> holders = this.collectedHolders.remove(user);
+		if (holders != null) {
+			holders.forEach(holder -> holder.release(this));
+		}
+	}
+
+	/**
+	 * Returns a wrapper for the behavior, reusing a released one if available.
+	 */
+	SeffBehaviorWrapper obtain(final ResourceDemandingBehaviour behavior, final SeffBehaviorContextHolder context) {
+		final SeffBehaviorWrapper pooled = this.pool.poll();
+		if (pooled == null) {
+			return new SeffBehaviorWrapper(behavior, context);
+		}
+		pooled.reset(behavior, context);
+		return pooled;
+	}
+
+	/**
+	 * Releases the wrapper of a released holder and keeps it for reuse.
+	 */
+	void recycle(final SeffBehaviorWrapper wrapper) {
+		wrapper.release(this.reuse);
+		if (this.reuse && this.pool.size() < MAX_POOLED) {
+			this.pool.push(wrapper);
+		}
+	}
+}
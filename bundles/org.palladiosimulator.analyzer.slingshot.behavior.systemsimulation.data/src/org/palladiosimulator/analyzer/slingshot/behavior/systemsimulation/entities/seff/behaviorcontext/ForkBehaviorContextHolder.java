@@ -1,8 +1,9 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext;
 
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import org.palladiosimulator.pcm.seff.AbstractAction;
@@ -17,15 +18,21 @@ import org.palladiosimulator.pcm.seff.ResourceDemandingBehaviour;
  * Finished models (as in {@link SeffBehaviorWrapper#hasFinished()}) will be
  * skipped. The action itself is said to be finished if every fork model has
  * finished.
+ * <p>
+ * Alternatively, the models can be interpreted independently of each other,
+ * see {@link ForkedBranchContextHolder}.
  * 
  * @author Julijan Katic, Floriment Klinaku, Sarah Stiess
  *
  */
 public final class ForkBehaviorContextHolder extends MultiBehaviorContextHolder {
 
-	private final List<SeffBehaviorWrapper> unfinishedBehaviors;
-	private Iterator<SeffBehaviorWrapper> iterator;
-	private SeffBehaviorWrapper currentSeff;
+	/**
+	 * The behaviors in round-robin order. Finished behaviors are only removed when
+	 * they reach the head of the queue, so that each step takes amortized constant
+	 * time.
+	 */
+	private final Deque<SeffBehaviorWrapper> roundRobin;
 	private boolean processingMarker = false;
 	
 	/**
@@ -39,32 +46,27 @@ public final class ForkBehaviorContextHolder extends MultiBehaviorContextHolder
 	public ForkBehaviorContextHolder(final List<ResourceDemandingBehaviour> behaviors, final AbstractAction successor,
 			final SeffBehaviorWrapper parent) {
 		super(behaviors, Optional.of(successor), Optional.of(parent));
-		this.unfinishedBehaviors = new ArrayList<>(this.getBehaviors());
-		this.iterator = this.unfinishedBehaviors.iterator();
-		this.currentSeff = this.iterator.next();
-	}
-
-	@Override
-	public SeffBehaviorWrapper getCurrentProcessedBehavior() {
-		final SeffBehaviorWrapper holder = this.currentSeff;
-		this.updateCurrentBehaviorIndex();
-		return holder;
+		this.roundRobin = new ArrayDeque<>(this.getBehaviors());
 	}
 
 	/**
-	 * Updates the index to let it point to the next unfinished behavior model.
+	 * Returns the next unfinished behavior model and moves it to the end of the
+	 * round.
+	 * 
+	 * @throws NoSuchElementException if all behavior models have finished.
 	 */
-	private void updateCurrentBehaviorIndex() {
-		if(!this.iterator.hasNext())
-		{
-			this.iterator = this.unfinishedBehaviors.iterator();
+	@Override
+	public SeffBehaviorWrapper getCurrentProcessedBehavior() {
+		this.checkNotReleased();
+		SeffBehaviorWrapper holder = this.roundRobin.poll();
+		while (holder != null && holder.hasFinished()) {
+			holder = this.roundRobin.poll();
 		}
-		
-		this.currentSeff = this.iterator.next();
-		while (this.currentSeff.hasFinished()) {
-			this.iterator.remove();
-			this.currentSeff = this.iterator.next();
+		if (holder == null) {
+			throw new NoSuchElementException("All forked behaviors have finished.");
 		}
+		this.roundRobin.add(holder);
+		return holder;
 	}
 	
 	/**
@@ -0,0 +1,43 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * The synchronization point of a fork action whose behaviors are interpreted
+ * independently (see {@link ForkedBranchContextHolder}). It counts the
+ * branches that have not arrived yet, so that the interpretation continues
+ * after the fork action exactly once, when the last branch arrives.
+ */
+public final class ForkJoinBarrier {
+
+	private int remainingBranches;
+
+	/**
+	 * Instantiates the barrier.
+	 *
+	 * @param branches The number of branches to wait for. Must be {@code > 0}.
+	 */
+	public ForkJoinBarrier(final int branches) {
+		Preconditions.checkArgument(branches > 0, "A fork must have at least one branch.");
+		this.remainingBranches = branches;
+	}
+
+	/**
+	 * Marks the arrival of a finished branch.
+	 *
+	 * @return true iff this was the last branch to arrive.
+	 * @throws IllegalStateException if all branches have already arrived.
+	 */
+	public boolean arrive() {
+		Preconditions.checkState(this.remainingBranches > 0, "All branches have already arrived.");
+		this.remainingBranches--;
+		return this.remainingBranches == 0;
+	}
+
+	/**
+	 * @return the number of branches that have not arrived yet.
+	 */
+	public int getRemainingBranches() {
+		return this.remainingBranches;
+	}
+}
@@ -0,0 +1,42 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext;
+
+import java.util.Optional;
+
+import org.palladiosimulator.pcm.seff.AbstractAction;
+import org.palladiosimulator.pcm.seff.ResourceDemandingBehaviour;
+
+/**
+ * Holds a single forked behavior of a fork action, if the forked behaviors are
+ * interpreted independently in contexts of their own instead of sharing one
+ * {@link ForkBehaviorContextHolder}.
+ * <p>
+ * All branches of the same fork action share a {@link ForkJoinBarrier}. The
+ * interpretation continues with the successor of the fork action once every
+ * branch has arrived at the barrier.
+ */
+public final class ForkedBranchContextHolder extends SingleBehaviorContextHolder {
+
+	private final ForkJoinBarrier barrier;
+
+	/**
+	 * Instantiates the ForkedBranchContextHolder. No parameter must be
+	 * {@code null}.
+	 *
+	 * @param behavior  The forked behavior to interpret.
+	 * @param successor The successor action after the fork action.
+	 * @param parent    The model in which the fork action lies.
+	 * @param barrier   The barrier shared by all branches of the fork action.
+	 */
+	public ForkedBranchContextHolder(final ResourceDemandingBehaviour behavior, final AbstractAction successor,
+			final SeffBehaviorWrapper parent, final ForkJoinBarrier barrier) {
+		super(behavior, Optional.of(successor), Optional.of(parent));
+		this.barrier = barrier;
+	}
+
+	/**
+	 * @return the barrier shared by all branches of the fork action.
+	 */
+	public ForkJoinBarrier getBarrier() {
+		return this.barrier;
+	}
+}
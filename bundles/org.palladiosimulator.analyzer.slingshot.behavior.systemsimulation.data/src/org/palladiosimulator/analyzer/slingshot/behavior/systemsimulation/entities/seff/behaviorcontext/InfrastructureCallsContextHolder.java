@@ -7,6 +7,7 @@ import java.util.Optional;
 
 import org.eclipse.emf.common.util.EList;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.SEFFInterpretationContext;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.program.SeffInstruction;
 import org.palladiosimulator.pcm.seff.InternalAction;
 import org.palladiosimulator.pcm.seff.seff_performance.InfrastructureCall;
 
@@ -65,4 +66,10 @@ public class InfrastructureCallsContextHolder extends SeffBehaviorContextHolder
 	public InfrastructureCall getNextAction() {
 		return this.calls.next();
 	}
+
+	@Override
+	public SeffInstruction getNextInstruction() {
+		throw new IllegalStateException(
+				"InfrastructureSegmentContextHolder has no instructions, as InfraCalls are modelled as a simple list.");
+	}
 }
@@ -3,6 +3,7 @@ package org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entit
 import java.util.Optional;
 
 import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.program.SeffInstruction;
 import org.palladiosimulator.pcm.seff.AbstractAction;
 import org.palladiosimulator.pcm.seff.ResourceDemandingBehaviour;
 
@@ -56,13 +57,18 @@ public final class LoopBehaviorContextHolder extends SingleBehaviorContextHolder
 
 	@Override
 	public AbstractAction getNextAction() {
+		// Loops has no InfrastructureCalls next Action is always AbstractAction
+		return this.getNextInstruction().getAction();
+	}
+
+	@Override
+	public SeffInstruction getNextInstruction() {
 		LOGGER.info("Retrieve next action in loop -- progression: " + this.progression);
 		/* If the model is finished but the counter hasn't been reached yet, repeat the scenario. */
 		if (this.getCurrentProcessedBehavior().hasFinished() && this.progression < this.maximalLoopCounter) {
 			this.progression++;
 			this.getCurrentProcessedBehavior().repeatScenario();
 		}
-		// Loops has no InfrastructureCalls next Action is always AbstractAction
-		return (AbstractAction) super.getNextAction();
+		return super.getNextInstruction();
 	}
 }
@@ -25,4 +25,17 @@ public final class RootBehaviorContextHolder extends SingleBehaviorContextHolder
 		super(behavior, Optional.empty(), Optional.empty());
 	}
 
+	/**
+	 * Instantiates the RootBehaviorContextHolder, whose wrapper and those of all
+	 * its children are obtained from the recycler.
+	 * 
+	 * @param behavior the non-null root SEFF.
+	 * @param recycler the recycler of the simulation run, or {@code null} to
+	 *                 create new wrappers.
+	 */
+	public RootBehaviorContextHolder(final ResourceDemandingBehaviour behavior,
+			final BehaviorContextRecycler recycler) {
+		super(behavior, Optional.empty(), Optional.empty(), recycler);
+	}
+
 }
@@ -5,6 +5,7 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.program.SeffInstruction;
 import org.palladiosimulator.analyzer.slingshot.common.utils.Logic;
 import org.palladiosimulator.pcm.core.entity.Entity;
 import org.palladiosimulator.pcm.seff.AbstractAction;
@@ -43,9 +44,25 @@ public abstract class SeffBehaviorContextHolder {
 	private final Optional<AbstractAction> successor;
 	private final Optional<SeffBehaviorWrapper> parent;
 
+	/** Provides the wrappers of this holder and its children, or {@code null}. */
+	private final BehaviorContextRecycler recycler;
+
+	/** The generation of the parent wrapper when this holder was created. */
+	private final int parentGeneration;
+
+	/** The number of referenced behaviors that have not finished yet. */
+	private int unfinishedBehaviors;
+
+	/** Whether this holder was collected by a {@link BehaviorContextRecycler}. */
+	private boolean collected;
+
+	/** Whether the behaviors of this holder were released. */
+	private boolean released;
+
 	/**
 	 * Constructs the behavior context holder. If the behavior context has a
-	 * successor defined, then this must be a child context holder.
+	 * successor defined, then this must be a child context holder. The wrappers
+	 * are obtained from the recycler of the parent's holder, if any.
 	 *
 	 * @param behaviors the list of resource demanding behaviors that are referenced
 	 *                  here. They will be mapped to {@link SeffBehaviorWrapper}s
@@ -57,12 +74,37 @@ public abstract class SeffBehaviorContextHolder {
 			final List<ResourceDemandingBehaviour> behaviors,
 			final Optional<AbstractAction> successor,
 			final Optional<SeffBehaviorWrapper> parent) {
+		this(behaviors, successor, parent,
+				parent.map(wrapper -> wrapper.getContext().recycler).orElse(null));
+	}
+
+	/**
+	 * Constructs the behavior context holder. If the behavior context has a
+	 * successor defined, then this must be a child context holder.
+	 *
+	 * @param behaviors the list of resource demanding behaviors that are referenced
+	 *                  here. They will be mapped to {@link SeffBehaviorWrapper}s
+	 *                  each.
+	 * @param successor The successor action after this model if it exists.
+	 * @param parent    The parent of this model if it exists.
+	 * @param recycler  The recycler to obtain the wrappers from, or {@code null}
+	 *                  to create new ones.
+	 */
+	protected SeffBehaviorContextHolder(
+			final List<ResourceDemandingBehaviour> behaviors,
+			final Optional<AbstractAction> successor,
+			final Optional<SeffBehaviorWrapper> parent,
+			final BehaviorContextRecycler recycler) {
 		Preconditions.checkArgument(Logic.implies(successor.isPresent(), parent.isPresent()));
+		this.recycler = recycler;
 		this.behaviors = behaviors.stream()
-				.map(behavior -> new SeffBehaviorWrapper(behavior, this))
+				.map(behavior -> recycler == null ? new SeffBehaviorWrapper(behavior, this)
+						: recycler.obtain(behavior, this))
 				.collect(Collectors.toList());
+		this.unfinishedBehaviors = this.behaviors.size();
 		this.successor = successor;
 		this.parent = parent;
+		this.parentGeneration = parent.map(SeffBehaviorWrapper::getGeneration).orElse(0);
 	}
 
 	/**
@@ -84,7 +126,60 @@ public abstract class SeffBehaviorContextHolder {
 	 * @see SeffBehaviorWrapper#hasFinished()
 	 */
 	public boolean hasFinished() {
-		return !this.behaviors.stream().anyMatch(holder -> !holder.hasFinished());
+		return this.unfinishedBehaviors == 0;
+	}
+
+	/**
+	 * Called by a referenced wrapper when it reaches its stop action.
+	 */
+	void behaviorFinished() {
+		Preconditions.checkState(this.unfinishedBehaviors > 0, "All behaviors have already finished.");
+		this.unfinishedBehaviors--;
+	}
+
+	/**
+	 * Called by a referenced wrapper when a finished behavior is repeated.
+	 */
+	void behaviorRestarted() {
+		this.unfinishedBehaviors++;
+	}
+
+	/**
+	 * Marks this holder as collected for recycling.
+	 *
+	 * @return false if it was already collected before.
+	 */
+	boolean collect() {
+		if (this.collected) {
+			return false;
+		}
+		this.collected = true;
+		return true;
+	}
+
+	/**
+	 * Releases the referenced behaviors. The holder itself keeps its structural
+	 * information, e.g. {@link #isChild()}, but cannot be interpreted anymore.
+	 *
+	 * @param recycler The recycler that releases the holder.
+	 */
+	void release(final BehaviorContextRecycler recycler) {
+		this.released = true;
+		this.behaviors.forEach(recycler::recycle);
+	}
+
+	/**
+	 * Checks that neither the behaviors of this holder nor its parent behavior
+	 * were released. As released wrappers may already be reused by another
+	 * request, the parent is checked by its generation.
+	 *
+	 * @throws IllegalStateException if this holder must not be used anymore.
+	 */
+	protected void checkNotReleased() {
+		Preconditions.checkState(!this.released, "The behavior context is used after it was released.");
+		Preconditions.checkState(
+				this.parent.isEmpty() || this.parent.get().getGeneration() == this.parentGeneration,
+				"The behavior context is used after its parent behavior was released.");
 	}
 
 	/**
@@ -93,6 +188,7 @@ public abstract class SeffBehaviorContextHolder {
 	 * @return the common parent of the models if it exists.
 	 */
 	public Optional<SeffBehaviorWrapper> getParent() {
+		this.checkNotReleased();
 		return this.parent;
 	}
 
@@ -121,10 +217,24 @@ public abstract class SeffBehaviorContextHolder {
 	 * @see #getCurrentProcessedBehavior()
 	 */
 	public Entity getNextAction() {
+		return this.getNextInstruction().getAction();
+	}
+
+	/**
+	 * Returns the instruction of the next action to be interpreted. This is the
+	 * same as {@link #getNextAction()}, but gives access to the compiled
+	 * instruction of the action.
+	 *
+	 * @return the instruction of the abstract action to interpret.
+	 * @throws NoSuchElementException if the model has already finished (see
+	 *                                {@link #hasFinished()}.
+	 */
+	public SeffInstruction getNextInstruction() {
+		this.checkNotReleased();
 		if (this.hasFinished()) {
 			throw new NoSuchElementException("There is no action to interpret anymore, as this model has finished.");
 		}
-		return this.getCurrentProcessedBehavior().next();
+		return this.getCurrentProcessedBehavior().nextInstruction();
 	}
 
 	/**
@@ -133,6 +243,7 @@ public abstract class SeffBehaviorContextHolder {
 	 * @return the list of behaviors.
 	 */
 	protected List<SeffBehaviorWrapper> getBehaviors() {
+		this.checkNotReleased();
 		return this.behaviors;
 	}
 
@@ -3,10 +3,12 @@ package org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entit
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.program.SeffInstruction;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.program.SeffProgram;
 import org.palladiosimulator.pcm.seff.AbstractAction;
 import org.palladiosimulator.pcm.seff.ResourceDemandingBehaviour;
-import org.palladiosimulator.pcm.seff.StartAction;
-import org.palladiosimulator.pcm.seff.StopAction;
+
+import com.google.common.base.Preconditions;
 
 /**
  * This class wraps a {@link ResourceDemandingBehaviour} with further actions
@@ -17,15 +19,29 @@ import org.palladiosimulator.pcm.seff.StopAction;
  * <p>
  * This class furthermore offers a way of repeating the scenario again from the
  * start action by calling the {@link #repeatScenario()} method.
+ * <p>
+ * The actions are taken from the behavior's compiled {@link SeffProgram}, so
+ * that iterating only advances a program counter.
+ * <p>
+ * Wrappers of finished requests may be recycled, see
+ * {@link BehaviorContextRecycler}. A released wrapper must not be used anymore,
+ * which is checked by all methods. Once it is reused, these checks pass again;
+ * therefore each release starts a new generation of the wrapper, which the
+ * context holders referencing it check on every access.
  * 
  * @author Julijan Katic
  */
 public final class SeffBehaviorWrapper implements Iterator<AbstractAction> {
 
-	private final ResourceDemandingBehaviour behavior;
-	private final SeffBehaviorContextHolder context;
-	private AbstractAction currentAction;
+	private ResourceDemandingBehaviour behavior;
+	private SeffBehaviorContextHolder context;
+	private SeffProgram program;
+	private int programCounter;
 	private boolean finished;
+	private boolean released;
+
+	/** The number of times this wrapper was released. */
+	private int generation;
 
 	/**
 	 * Instantiates this class with the corresponding behavior and the context that
@@ -40,17 +56,62 @@ public final class SeffBehaviorWrapper implements Iterator<AbstractAction> {
 	 */
 	public SeffBehaviorWrapper(final ResourceDemandingBehaviour behavior, final SeffBehaviorContextHolder context) {
 		super();
+		this.reset(behavior, context);
+	}
+
+	/**
+	 * Lets a released wrapper wrap another behavior.
+	 *
+	 * @see #SeffBehaviorWrapper(ResourceDemandingBehaviour,
+	 *      SeffBehaviorContextHolder)
+	 */
+	void reset(final ResourceDemandingBehaviour behavior, final SeffBehaviorContextHolder context) {
 		this.behavior = behavior;
 		this.context = context;
+		this.program = SeffProgram.of(behavior);
+		this.finished = false;
+		this.released = false;
 		this.setCurrentActionToStart();
 	}
 
+	/**
+	 * Releases this wrapper. Afterwards, any use of it fails.
+	 *
+	 * @param reuse Whether the wrapper may be {@link #reset} to be handed out
+	 *              again. If not, a use after release is always detected.
+	 */
+	void release(final boolean reuse) {
+		Preconditions.checkState(!this.released, "The behavior wrapper has already been released.");
+		this.released = true;
+		this.generation++;
+		if (reuse) {
+			this.behavior = null;
+			this.context = null;
+			this.program = null;
+		}
+	}
+
+	/**
+	 * @return the generation of this wrapper, which changes whenever it is
+	 *         released.
+	 */
+	int getGeneration() {
+		return this.generation;
+	}
+
+	private void checkNotReleased() {
+		if (this.released) {
+			throw new IllegalStateException("The behavior wrapper is used after it was released.");
+		}
+	}
+
 	/**
 	 * Returns the behavior wrapped by this class.
 	 * 
 	 * @return the behavior
 	 */
 	public ResourceDemandingBehaviour getBehavior() {
+		this.checkNotReleased();
 		return this.behavior;
 	}
 
@@ -60,7 +121,9 @@ public final class SeffBehaviorWrapper implements Iterator<AbstractAction> {
 	 * @return the current action.
 	 */
 	public AbstractAction getCurrentAction() {
-		return this.currentAction;
+		this.checkNotReleased();
+		return this.programCounter == SeffInstruction.END ? null
+				: this.program.getInstruction(this.programCounter).getAction();
 	}
 
 	/**
@@ -69,6 +132,7 @@ public final class SeffBehaviorWrapper implements Iterator<AbstractAction> {
 	 * @return the referencing context.
 	 */
 	public SeffBehaviorContextHolder getContext() {
+		this.checkNotReleased();
 		return this.context;
 	}
 
@@ -79,6 +143,7 @@ public final class SeffBehaviorWrapper implements Iterator<AbstractAction> {
 	 * @return true if the iterator points to the {@code StopAction}.
 	 */
 	public boolean hasFinished() {
+		this.checkNotReleased();
 		return this.finished;
 	}
 
@@ -86,22 +151,20 @@ public final class SeffBehaviorWrapper implements Iterator<AbstractAction> {
 	 * Sets the pointer again to the start action.
 	 */
 	public void repeatScenario() {
+		this.checkNotReleased();
 		this.setCurrentActionToStart();
 	}
 
 	/**
-	 * Helper method that sets the current action to the first start action within
-	 * this model. If such an action does not exist, an IllegalStateException will
-	 * be thrown.
-	 * 
-	 * @throws IllegalStateException if the model does not have a start action.
+	 * Helper method that sets the current action to the start action within this
+	 * model.
 	 */
 	private void setCurrentActionToStart() {
-		this.currentAction = this.behavior.getSteps_Behaviour().stream()
-				.filter(StartAction.class::isInstance)
-				.findFirst()
-				.orElseThrow(() -> new IllegalStateException("This model does not have a start action."));
-		this.finished = false;
+		this.programCounter = this.program.getEntryPoint();
+		if (this.finished) {
+			this.finished = false;
+			this.context.behaviorRestarted();
+		}
 	}
 
 	/**
@@ -113,7 +176,7 @@ public final class SeffBehaviorWrapper implements Iterator<AbstractAction> {
 	 */
 	@Override
 	public boolean hasNext() {
-		return !this.hasFinished() && this.currentAction != null;
+		return !this.hasFinished() && this.programCounter != SeffInstruction.END;
 	}
 
 	/**
@@ -124,14 +187,29 @@ public final class SeffBehaviorWrapper implements Iterator<AbstractAction> {
 	 */
 	@Override
 	public AbstractAction next() {
+		return this.nextInstruction().getAction();
+	}
+
+	/**
+	 * Returns the instruction of the next action and advances the iterator.
+	 * 
+	 * @return the instruction of the next action.
+	 * @throws NoSuchElementException if there is no successor action (see
+	 *                                {@link #hasNext()}).
+	 */
+	public SeffInstruction nextInstruction() {
+		this.checkNotReleased();
 		if (!this.hasNext()) {
 			throw new NoSuchElementException(
 					"There is no action after StopAction, or a successor action was not defined.");
 		}
 
-		final AbstractAction result = this.currentAction;
-		this.finished = result instanceof StopAction;
-		this.currentAction = this.currentAction.getSuccessor_AbstractAction();
+		final SeffInstruction result = this.program.getInstruction(this.programCounter);
+		this.programCounter = result.getNext();
+		if (result.isStop()) {
+			this.finished = true;
+			this.context.behaviorFinished();
+		}
 		return result;
 	}
 
@@ -31,6 +31,20 @@ public abstract class SingleBehaviorContextHolder extends SeffBehaviorContextHol
 		super(List.of(behavior), successor, parent);
 	}
 
+	/**
+	 * Instantiates the single context holder.
+	 * 
+	 * @param behavior  The single behavior to interpret.
+	 * @param successor the successor of the action in which the model lies.
+	 * @param parent    the model in which the action itself lies.
+	 * @param recycler  the recycler to obtain the wrapper from, or {@code null}.
+	 */
+	protected SingleBehaviorContextHolder(final ResourceDemandingBehaviour behavior,
+			final Optional<AbstractAction> successor, final Optional<SeffBehaviorWrapper> parent,
+			final BehaviorContextRecycler recycler) {
+		super(List.of(behavior), successor, parent, recycler);
+	}
+
 	/**
 	 * This method always returns the specified single behavior model.
 	 * 
@@ -0,0 +1,107 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.program;
+
+import org.palladiosimulator.pcm.seff.AbstractAction;
+import org.palladiosimulator.pcm.seff.AcquireAction;
+import org.palladiosimulator.pcm.seff.BranchAction;
+import org.palladiosimulator.pcm.seff.CollectionIteratorAction;
+import org.palladiosimulator.pcm.seff.ExternalCallAction;
+import org.palladiosimulator.pcm.seff.ForkAction;
+import org.palladiosimulator.pcm.seff.InternalAction;
+import org.palladiosimulator.pcm.seff.LoopAction;
+import org.palladiosimulator.pcm.seff.ReleaseAction;
+import org.palladiosimulator.pcm.seff.SetVariableAction;
+import org.palladiosimulator.pcm.seff.StartAction;
+import org.palladiosimulator.pcm.seff.StopAction;
+
+/**
+ * A single instruction of a {@link SeffProgram}. It holds the action to
+ * interpret, the kind of the action and the index of the instruction that
+ * follows.
+ * <p>
+ * Instructions are immutable and shared by all interpretations of the same
+ * behavior.
+ */
+public final class SeffInstruction {
+
+	/**
+	 * The kind of an action. Interpreters can switch over the opcode instead of
+	 * dispatching over the model's class hierarchy.
+	 */
+	public enum Opcode {
+		START, STOP, INTERNAL, EXTERNAL_CALL, BRANCH, LOOP, COLLECTION_ITERATOR, FORK, ACQUIRE, RELEASE,
+		SET_VARIABLE,
+		/** Any other action, which must be interpreted by the model switch. */
+		OTHER;
+
+		static Opcode of(final AbstractAction action) {
+			if (action instanceof StartAction) {
+				return START;
+			} else if (action instanceof StopAction) {
+				return STOP;
+			} else if (action instanceof InternalAction) {
+				return INTERNAL;
+			} else if (action instanceof ExternalCallAction) {
+				return EXTERNAL_CALL;
+			} else if (action instanceof BranchAction) {
+				return BRANCH;
+			} else if (action instanceof LoopAction) {
+				return LOOP;
+			} else if (action instanceof CollectionIteratorAction) {
+				return COLLECTION_ITERATOR;
+			} else if (action instanceof ForkAction) {
+				return FORK;
+			} else if (action instanceof AcquireAction) {
+				return ACQUIRE;
+			} else if (action instanceof ReleaseAction) {
+				return RELEASE;
+			} else if (action instanceof SetVariableAction) {
+				return SET_VARIABLE;
+			}
+			return OTHER;
+		}
+	}
+
+	/** Jump target denoting that there is no further instruction. */
+	public static final int END = -1;
+
+	private final AbstractAction action;
+	private final Opcode opcode;
+	private final int index;
+	private final int next;
+
+	SeffInstruction(final AbstractAction action, final int index, final int next) {
+		this.action = action;
+		this.opcode = Opcode.of(action);
+		this.index = index;
+		this.next = next;
+	}
+
+	public AbstractAction getAction() {
+		return this.action;
+	}
+
+	public Opcode getOpcode() {
+		return this.opcode;
+	}
+
+	/**
+	 * @return the index of this instruction within its program.
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * @return the index of the next instruction, or {@link #END}.
+	 */
+	public int getNext() {
+		return this.next;
+	}
+
+	/**
+	 * @return true iff this instruction is the stop action of the behavior.
+	 */
+	public boolean isStop() {
+		return this.opcode == Opcode.STOP;
+	}
+}
@@ -0,0 +1,125 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.program;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.ecore.EObject;
+import org.palladiosimulator.analyzer.slingshot.common.utils.ModelCache;
+import org.palladiosimulator.pcm.seff.AbstractAction;
+import org.palladiosimulator.pcm.seff.ResourceDemandingBehaviour;
+import org.palladiosimulator.pcm.seff.StartAction;
+import org.palladiosimulator.pcm.seff.StopAction;
+
+/**
+ * A {@link ResourceDemandingBehaviour} compiled into a flat array of
+ * {@link SeffInstruction}s. The instructions are ordered from the start action
+ * along the successor links, and each instruction holds the index of its
+ * successor, so that a behavior can be interpreted by advancing a program
+ * counter.
+ * <p>
+ * Nested behaviors, such as loop bodies or branch transitions, are compiled
+ * into programs of their own, as they are interpreted in child contexts.
+ * <p>
+ * Programs are compiled lazily on first use. The programs of a SEFF and of all
+ * behaviors nested in it are cached together on the outermost behavior, i.e.
+ * the SEFF, and are dropped whenever anything in the SEFF changes, e.g. the
+ * successor of one of its actions. Thus, each element of a SEFF is observed by
+ * a single cache.
+ */
+public final class SeffProgram {
+
+	private static final Logger LOGGER = Logger.getLogger(SeffProgram.class);
+
+	private final SeffInstruction[] instructions;
+
+	private SeffProgram(final SeffInstruction[] instructions) {
+		this.instructions = instructions;
+	}
+
+	/**
+	 * Returns the compiled program of the behavior.
+	 *
+	 * @param behavior The behavior to compile.
+	 * @return The compiled program.
+	 * @throws IllegalStateException if the behavior does not have a start action.
+	 */
+	public static SeffProgram of(final ResourceDemandingBehaviour behavior) {
+		final ResourceDemandingBehaviour root = outermostBehavior(behavior);
+		final ModelCache<ResourceDemandingBehaviour, SeffProgram> cache = ModelCache.of(root, SeffProgram.class);
+		SeffProgram program = cache.get(behavior);
+		if (program == null) {
+			if (cache.isEmpty()) {
+				cache.observeTree(root);
+			}
+			program = compile(behavior);
+			cache.put(behavior, program);
+		}
+		return program;
+	}
+
+	private static ResourceDemandingBehaviour outermostBehavior(final ResourceDemandingBehaviour behavior) {
+		ResourceDemandingBehaviour root = behavior;
+		for (EObject container = behavior.eContainer(); container != null; container = container.eContainer()) {
+			if (container instanceof final ResourceDemandingBehaviour outer) {
+				root = outer;
+			}
+		}
+		return root;
+	}
+
+	/**
+	 * Returns the instruction at the given index.
+	 *
+	 * @param index The index of the instruction, as returned by
+	 *              {@link SeffInstruction#getNext()}.
+	 * @return The instruction.
+	 */
+	public SeffInstruction getInstruction(final int index) {
+		return this.instructions[index];
+	}
+
+	/**
+	 * @return the index of the instruction of the start action.
+	 */
+	public int getEntryPoint() {
+		return 0;
+	}
+
+	/**
+	 * @return the number of instructions.
+	 */
+	public int size() {
+		return this.instructions.length;
+	}
+
+	private static SeffProgram compile(final ResourceDemandingBehaviour behavior) {
+		final AbstractAction start = behavior.getSteps_Behaviour().stream()
+				.filter(StartAction.class::isInstance)
+				.findFirst()
+				.orElseThrow(() -> new IllegalStateException("This model does not have a start action."));
+
+		/* Following the successors can never visit more actions than there are steps. */
+		final int maxLength = behavior.getSteps_Behaviour().size();
+		final List<AbstractAction> actions = new ArrayList<>(maxLength);
+		for (AbstractAction action = start; action != null; action = action.getSuccessor_AbstractAction()) {
+			if (actions.size() == maxLength) {
+				throw new IllegalStateException("The actions of this model form a cycle.");
+			}
+			actions.add(action);
+			if (action instanceof StopAction) {
+				break;
+			}
+		}
+
+		final SeffInstruction[] instructions = new SeffInstruction[actions.size()];
+		for (int i = 0; i < instructions.length; i++) {
+			final int next = i + 1 < instructions.length ? i + 1 : SeffInstruction.END;
+			instructions[i] = new SeffInstruction(actions.get(i), i, next);
+		}
+
+		LOGGER.debug("Compiled behavior " + behavior.getId() + " into " + instructions.length + " instructions");
+		return new SeffProgram(instructions);
+	}
+
+}
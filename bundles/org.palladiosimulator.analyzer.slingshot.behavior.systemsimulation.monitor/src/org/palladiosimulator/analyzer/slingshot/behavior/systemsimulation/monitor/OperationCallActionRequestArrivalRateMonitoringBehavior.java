@@ -8,6 +8,7 @@ import javax.inject.Inject;
 import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.probes.RequestArrivalRateProbe;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.SEFFInterpretationContext;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFModelPassedElement;
+import org.palladiosimulator.analyzer.slingshot.common.utils.MonitoredElements;
 import org.palladiosimulator.analyzer.slingshot.core.extension.SimulationBehaviorExtension;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.Subscribe;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.eventcontract.EventCardinality;
@@ -59,11 +60,14 @@ import org.palladiosimulator.probeframework.calculator.IGenericCalculatorFactory
 public class OperationCallActionRequestArrivalRateMonitoringBehavior implements SimulationBehaviorExtension {
 
     private final IGenericCalculatorFactory calculatorFactory;
+    private final MonitoredElements monitoredElements;
     private final Map<AssemblyOperationCompoundKey, OperationProbes> userProbesMap = new HashMap<>();
 
     @Inject
-    public OperationCallActionRequestArrivalRateMonitoringBehavior(final IGenericCalculatorFactory calculatorFactory) {
+    public OperationCallActionRequestArrivalRateMonitoringBehavior(final IGenericCalculatorFactory calculatorFactory,
+            final MonitoredElements monitoredElements) {
         this.calculatorFactory = calculatorFactory;
+        this.monitoredElements = monitoredElements;
     }
 
     /**
@@ -88,6 +92,8 @@ public class OperationCallActionRequestArrivalRateMonitoringBehavior implements
                 final AssemblyOperationCompoundKey key = AssemblyOperationCompoundKey
                     .of(assemblyMeasuringPoint.getAssembly(), role, assemblyMeasuringPoint.getOperationSignature());
                 this.userProbesMap.put(key, userProbes);
+                this.monitoredElements.watch(SEFFModelPassedElement.class, assemblyMeasuringPoint.getAssembly()
+                    .getId());
 
                 final Calculator calculator = this.calculatorFactory.buildCalculator(
                         MetricDescriptionConstants.REQUEST_ARRIVAL_RATE_TUPLE, assemblyMeasuringPoint,
@@ -8,6 +8,7 @@ import javax.inject.Inject;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.SEFFInterpretationContext;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFModelPassedElement;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.analyzer.slingshot.common.utils.MonitoredElements;
 import org.palladiosimulator.analyzer.slingshot.core.extension.SimulationBehaviorExtension;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.Subscribe;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.eventcontract.EventCardinality;
@@ -64,11 +65,14 @@ import org.palladiosimulator.probeframework.measurement.RequestContext;
 public class OperationCallActionResponseTimeMonitoringBehavior implements SimulationBehaviorExtension {
 
 	private final IGenericCalculatorFactory calculatorFactory;
+	private final MonitoredElements monitoredElements;
 	private final Map<AssemblyOperationCompoundKey, OperationProbes> userProbesMap = new HashMap<>();
 
 	@Inject
-	public OperationCallActionResponseTimeMonitoringBehavior(final IGenericCalculatorFactory calculatorFactory) {
+	public OperationCallActionResponseTimeMonitoringBehavior(final IGenericCalculatorFactory calculatorFactory,
+			final MonitoredElements monitoredElements) {
 		this.calculatorFactory = calculatorFactory;
+		this.monitoredElements = monitoredElements;
 	}
 
 	/**
@@ -93,6 +97,8 @@ public class OperationCallActionResponseTimeMonitoringBehavior implements Simula
 						assemblyMeasuringPoint.getAssembly(), role,
 						assemblyMeasuringPoint.getOperationSignature());
 				this.userProbesMap.put(key, userProbes);
+				this.monitoredElements.watch(SEFFModelPassedElement.class,
+						assemblyMeasuringPoint.getAssembly().getId());
 
 				final Calculator calculator = this.calculatorFactory.buildCalculator(
 						MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE, assemblyMeasuringPoint,
@@ -161,7 +167,9 @@ public class OperationCallActionResponseTimeMonitoringBehavior implements Simula
 				final SEFFModelPassedElement<?> el = (SEFFModelPassedElement<?>) desEvent;
 
 				if(el.getContext().getCaller().isPresent()) {
-					return new RequestContext(el.getContext().getRequestProcessingContext().getUser().getId()+el.getContext().getCaller().get().hashCode());
+					/* User ids are plain numbers, so a separator is needed to keep the contexts unique. */
+					return new RequestContext(el.getContext().getRequestProcessingContext().getUser().getId() + ":"
+							+ el.getContext().getCaller().get().hashCode());
 				} else {
 					return new RequestContext(el.getContext().getRequestProcessingContext().getUser().getId());
 				}
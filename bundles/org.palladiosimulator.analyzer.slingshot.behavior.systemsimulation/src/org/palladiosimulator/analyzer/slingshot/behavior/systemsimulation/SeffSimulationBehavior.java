@@ -1,24 +1,42 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation;
 
+import java.util.LinkedHashSet;
+import java.util.Optional;
 import java.util.Set;
+import java.util.SplittableRandom;
+
+import javax.inject.Inject;
 
 import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.resource.CallOverWireRequest;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.SEFFInterpretationContext;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.BehaviorContextRecycler;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.ForkBehaviorContextHolder;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.ForkedBranchContextHolder;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.InfrastructureCallsContextHolder;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.SeffBehaviorContextHolder;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.AbstractSEFFInterpretationEvent;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.CallOverWireRequested;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.PassiveResourceAcquired;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFChildInterpretationStarted;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFInterpretationFinished;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFInterpretationProgressed;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFInterpreted;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFModelPassedElement;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.interpreters.LoopCollapser;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.interpreters.SeffInterpreter;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.User;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.UserRequest;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.interpretationcontext.UserInterpretationContext;
+import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.UserFinished;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.UserRequestFinished;
 import org.palladiosimulator.analyzer.slingshot.common.events.AbstractSimulationEvent;
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.analyzer.slingshot.common.utils.AllocationIndex;
+import org.palladiosimulator.analyzer.slingshot.common.utils.ExecutionOptions;
+import org.palladiosimulator.analyzer.slingshot.common.utils.MonitoredElements;
+import org.palladiosimulator.analyzer.slingshot.common.utils.SimulationIdProvider;
+import org.palladiosimulator.analyzer.slingshot.common.utils.SimulationRandom;
 import org.palladiosimulator.analyzer.slingshot.core.extension.SimulationBehaviorExtension;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.Subscribe;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.eventcontract.EventCardinality;
@@ -35,54 +53,147 @@ import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStack;
  *
  * @author Julijan Katic, Floriment Klinaku, Sarah Stiess
  */
-@OnEvent(when = SEFFInterpretationProgressed.class, then = SEFFInterpreted.class, cardinality = EventCardinality.MANY)
-@OnEvent(when = SEFFInterpretationFinished.class, then = { SEFFInterpretationProgressed.class,
-		UserRequestFinished.class }, cardinality = EventCardinality.SINGLE)
-@OnEvent(when = SEFFChildInterpretationStarted.class, then = SEFFInterpreted.class, cardinality = EventCardinality.MANY)
-@OnEvent(when = PassiveResourceAcquired.class, then = SEFFInterpreted.class, cardinality = EventCardinality.MANY)
+@OnEvent(when = SEFFInterpretationProgressed.class, then = { SEFFInterpreted.class, UserRequestFinished.class,
+		CallOverWireRequested.class }, cardinality = EventCardinality.MANY)
+@OnEvent(when = SEFFInterpretationFinished.class, then = { SEFFInterpreted.class, UserRequestFinished.class,
+		CallOverWireRequested.class }, cardinality = EventCardinality.MANY)
+@OnEvent(when = SEFFChildInterpretationStarted.class, then = { SEFFInterpreted.class, UserRequestFinished.class,
+		CallOverWireRequested.class }, cardinality = EventCardinality.MANY)
+@OnEvent(when = PassiveResourceAcquired.class, then = { SEFFInterpreted.class, UserRequestFinished.class,
+		CallOverWireRequested.class }, cardinality = EventCardinality.MANY)
+@OnEvent(when = UserRequestFinished.class, then = {})
+@OnEvent(when = UserFinished.class, then = {})
 public class SeffSimulationBehavior implements SimulationBehaviorExtension {
 
 	private static final Logger LOGGER = Logger.getLogger(SeffSimulationBehavior.class);
 
+	/**
+	 * The maximum number of zero-time steps that are interpreted within one
+	 * handler invocation. Afterwards, the interpretation is continued by an event
+	 * again, so that a (faulty) model without a blocking point cannot stall the
+	 * simulation.
+	 */
+	private static final int MAX_FUSED_STEPS = 10_000;
+
+	private final SimulationIdProvider idProvider;
+
+	/** The random stream for choosing branch transitions. */
+	private final SplittableRandom branchingRandom;
+
+	/** Whether zero-time steps are interpreted within one handler invocation. */
+	private final boolean fuseSteps;
+
+	/** The elements watched by probes. */
+	private final MonitoredElements monitoredElements;
+
+	private final LoopCollapser loopCollapser;
+
+	private final ExecutionOptions options;
+
+	private final AllocationIndex allocationIndex;
+
+	/** Recycles the behavior contexts of finished requests, or {@code null}. */
+	private final BehaviorContextRecycler recycler;
+
+	@Inject
+	public SeffSimulationBehavior(final SimulationIdProvider idProvider, final SimulationRandom random,
+			final ExecutionOptions options, final MonitoredElements monitoredElements,
+			final LoopCollapser loopCollapser, final AllocationIndex allocationIndex,
+			final BehaviorContextRecycler recycler) {
+		this.idProvider = idProvider;
+		this.branchingRandom = random.stream(SimulationRandom.BRANCHING);
+		this.fuseSteps = options.fuseSeffSteps();
+		this.monitoredElements = monitoredElements;
+		this.loopCollapser = loopCollapser;
+		this.options = options;
+		this.allocationIndex = allocationIndex;
+		this.recycler = options.recycleBehaviorContexts() ? recycler : null;
+	}
+
+	@Subscribe
+	public Result<DESEvent> onSeffInterpretationProgressed(final SEFFInterpretationProgressed progressed) {
+		return Result.of(this.runToBlockingPoint(this.progress(progressed.getEntity())));
+	}
+
+	@Subscribe
+	public Result<DESEvent> onPassiveResourceAcquired(final PassiveResourceAcquired passiveResourceAcquired) {
+		final SEFFInterpretationContext context = passiveResourceAcquired.getEntity().getSeffInterpretationContext();
+		final SeffInterpreter interpreter = new SeffInterpreter(context, this.branchingRandom,
+				this.monitoredElements, this.loopCollapser, this.options);
+		return Result.of(this.runToBlockingPoint(interpreter.interpretNext(context.getBehaviorContext())));
+	}
+
+	@Subscribe
+	public Result<DESEvent> onSEFFChildInterpretationStarted(
+			final SEFFChildInterpretationStarted seffChildInterpretationStarted) {
+		return Result.of(this.runToBlockingPoint(this.startChild(seffChildInterpretationStarted.getEntity())));
+	}
+
+	@Subscribe
+	public Result<DESEvent> onSEFFInterpretationFinished(final SEFFInterpretationFinished finished) {
+		return Result.of(this.runToBlockingPoint(this.finish(finished.getEntity())));
+	}
+
+	/**
+	 * Releases the behavior contexts of the finished request, if recycling is
+	 * enabled.
+	 */
 	@Subscribe
-	public Result<SEFFInterpreted> onSeffInterpretationProgressed(final SEFFInterpretationProgressed progressed) {
-		final SeffInterpreter interpreter = new SeffInterpreter(progressed.getEntity());
-		final SeffBehaviorContextHolder contextHolder = progressed.getEntity().getBehaviorContext();
+	public Result<?> onUserRequestFinished(final UserRequestFinished userRequestFinished) {
+		if (this.recycler != null) {
+			this.recycler.release(userRequestFinished.getEntity().getUser());
+		}
+		return Result.empty();
+	}
+
+	/**
+	 * Releases the remaining behavior contexts of the user, if recycling is
+	 * enabled.
+	 */
+	@Subscribe
+	public Result<?> onUserFinished(final UserFinished userFinished) {
+		if (this.recycler != null) {
+			this.recycler.release(userFinished.getEntity().getUser());
+		}
+		return Result.empty();
+	}
+
+	/**
+	 * Interprets the next action of the context.
+	 */
+	private Set<? extends DESEvent> progress(final SEFFInterpretationContext context) {
+		final SeffBehaviorContextHolder contextHolder = context.getBehaviorContext();
 
 		if (contextHolder instanceof InfrastructureCallsContextHolder) {
 			if (contextHolder.hasFinished()) {
 				// continue in parent -> a follow up SEFFInterpretationProgressed in the parent
 				LOGGER.info("progression to parent of infra");
-				return Result.of(continueInParent(progressed.getEntity()));
+				return Set.of(continueInParent(context));
 			}
 		}
 
-		final Set<SEFFInterpreted> events = interpreter.doSwitch(contextHolder.getNextAction());
-		return Result.of(events);
+		final SeffInterpreter interpreter = new SeffInterpreter(context, this.branchingRandom,
+				this.monitoredElements, this.loopCollapser, this.options);
+		return interpreter.interpretNext(contextHolder);
 	}
 
-	@Subscribe
-	public Result<SEFFInterpreted> onPassiveResourceAcquired(final PassiveResourceAcquired passiveResourceAcquired) {
-		final SeffInterpreter interpreter = new SeffInterpreter(
-				passiveResourceAcquired.getEntity().getSeffInterpretationContext());
-		final Set<SEFFInterpreted> events = interpreter.doSwitch(passiveResourceAcquired.getEntity()
-				.getSeffInterpretationContext().getBehaviorContext().getNextAction());
-		return Result.of(events);
+	/**
+	 * Interprets the first action of a child context.
+	 */
+	private Set<? extends DESEvent> startChild(final SEFFInterpretationContext context) {
+		final SeffInterpreter interpreter = new SeffInterpreter(context, this.branchingRandom,
+				this.monitoredElements, this.loopCollapser, this.options);
+		return interpreter.interpretNext(context.getBehaviorContext());
 	}
 
-	@Subscribe
-	public Result<SEFFInterpreted> onSEFFChildInterpretationStarted(
-			final SEFFChildInterpretationStarted seffChildInterpretationStarted) {
-		final SeffInterpreter interpreter = new SeffInterpreter(seffChildInterpretationStarted.getEntity());
-		final Set<SEFFInterpreted> events = interpreter
-				.doSwitch(seffChildInterpretationStarted.getEntity().getBehaviorContext().getNextAction());
-		return Result.of(events);
-	}
+	/**
+	 * Continues after the behavior of the context has finished.
+	 */
+	private Set<? extends DESEvent> finish(final SEFFInterpretationContext entity) {
+		if (this.recycler != null) {
+			this.recycler.collect(entity.getRequestProcessingContext().getUser(), entity.getBehaviorContext());
+		}
 
-	@Subscribe
-	public Result<AbstractSimulationEvent> onSEFFInterpretationFinished(final SEFFInterpretationFinished finished) {
-		final SEFFInterpretationContext entity = finished.getEntity();
-		final Result<AbstractSimulationEvent> result;
 		/*
 		 * If the interpretation is finished in a SEFF that was nested into or called
 		 * from another SEFF, continue there. Otherwise, the SEFF comes from a User
@@ -94,31 +205,102 @@ public class SeffSimulationBehavior implements SimulationBehaviorExtension {
 
 			if (!entity.getBehaviorContext().hasFinished()) {
 				LOGGER.info("A forked behavior has finished, but not all");
-				result = Result.of();
+				return Set.of();
 			} else if (fb.isProcessed()) {
-				result = Result.of();
+				return Set.of();
 			} else {
 				LOGGER.debug("return to parent - from forked");
 				fb.markProcessed();
-				result = Result.of(this.continueInParent(entity));
+				return Set.of(this.continueInParent(entity));
 			}
+		} else if (entity.getBehaviorContext() instanceof final ForkedBranchContextHolder branch) {
+			if (!branch.getBarrier().arrive()) {
+				LOGGER.debug("A forked branch has arrived at the join, " + branch.getBarrier().getRemainingBranches()
+						+ " remaining");
+				return Set.of();
+			}
+			LOGGER.debug("return to parent - all forked branches joined");
+			return Set.of(this.continueInParent(entity));
 		} else if (!entity.getBehaviorContext().hasFinished()) {
 			LOGGER.debug("repeat scenario");
-			result = Result.of(this.repeat(entity));
+			return Set.of(this.repeat(entity));
 		} else if (entity.getBehaviorContext().isChild()) { // go to parents first, only go to caller if no parent.
 			LOGGER.debug("return to parent");
-			result = Result.of(this.continueInParent(entity));
+			return Set.of(this.continueInParent(entity));
 		} else if (entity.getCaller().isPresent()) {
 			LOGGER.debug("return to caller");
-			result = Result.of(this.continueInCaller(entity));
+			return Set.of(this.continueInCaller(entity));
 		} else {
 			LOGGER.debug("finish request");
-			result = Result.of(this.finishUserRequest(entity));
+			return Set.of(this.finishUserRequest(entity));
+		}
+	}
+
+	/**
+	 * If fusing is enabled, keeps interpreting zero-time steps within this handler
+	 * invocation until a step needs simulated time or another subsystem (e.g. a
+	 * resource demand, a call over wire or a passive resource acquisition).
+	 * <p>
+	 * A step is fused if it yields exactly one {@link SEFFInterpretationProgressed},
+	 * {@link SEFFChildInterpretationStarted} or {@link SEFFInterpretationFinished}
+	 * event. Those events are only consumed by this behavior and are handled
+	 * directly instead of being scheduled. All other events of a fused step, in
+	 * particular the {@link SEFFModelPassedElement} events needed by probes, are
+	 * still returned.
+	 *
+	 * @param events The events of the first step.
+	 * @return The events to schedule.
+	 */
+	private Set<DESEvent> runToBlockingPoint(final Set<? extends DESEvent> events) {
+		final Set<DESEvent> result = new LinkedHashSet<>();
+		if (!this.fuseSteps) {
+			result.addAll(events);
+			return result;
+		}
+
+		Set<? extends DESEvent> current = events;
+		for (int step = 0; step < MAX_FUSED_STEPS; step++) {
+			AbstractSEFFInterpretationEvent fused = null;
+			int fusable = 0;
+			for (final DESEvent event : current) {
+				if (isFusable(event)) {
+					fused = (AbstractSEFFInterpretationEvent) event;
+					fusable++;
+				}
+			}
+
+			if (fusable != 1) {
+				result.addAll(current);
+				return result;
+			}
+
+			for (final DESEvent event : current) {
+				if (event != fused) {
+					result.add(event);
+				}
+			}
+			current = this.handleFused(fused);
 		}
 
+		result.addAll(current);
 		return result;
 	}
 
+	private static boolean isFusable(final DESEvent event) {
+		return event instanceof SEFFInterpretationProgressed || event instanceof SEFFChildInterpretationStarted
+				|| event instanceof SEFFInterpretationFinished;
+	}
+
+	private Set<? extends DESEvent> handleFused(final AbstractSEFFInterpretationEvent event) {
+		if (event instanceof SEFFInterpretationProgressed) {
+			return this.progress(event.getEntity());
+		} else if (event instanceof SEFFChildInterpretationStarted) {
+			return this.startChild(event.getEntity());
+		} else {
+			return this.finish(event.getEntity());
+		}
+	}
+
 	/**
 	 * @param entity
 	 * @return
@@ -147,14 +329,22 @@ public class SeffSimulationBehavior implements SimulationBehaviorExtension {
 	/**
 	 * If the caller was from another component, then we need to return over the
 	 * wire. Thus, we create a reply to a call over wire request and first simulate
-	 * the call.
+	 * the call. If both components lie on the same resource container, we return
+	 * to the caller directly.
 	 */
 	private AbstractSimulationEvent continueInCaller(final SEFFInterpretationContext entity) {
 
 		this.cleanUpComponentParameterStackFrames(entity.getRequestProcessingContext().getUser());
 
+		final Optional<CallOverWireRequest> callOverWireRequest = entity.getCallOverWireRequest();
+		if (callOverWireRequest.isPresent() && this.allocationIndex.areCoLocated(callOverWireRequest.get().getFrom(),
+				callOverWireRequest.get().getTo())) {
+			return SystemSimulationBehavior.returnToCaller(callOverWireRequest.get().getEntryRequest(),
+					entity.getCurrentResultStackframe());
+		}
+
 		return entity.getCallOverWireRequest()
-				.map(cowReq -> cowReq.createReplyRequest(entity.getCurrentResultStackframe()))
+				.map(cowReq -> cowReq.createReplyRequest(this.idProvider.nextId(), entity.getCurrentResultStackframe()))
 				.map(CallOverWireRequested::new)
 				.map(AbstractSimulationEvent.class::cast) // Needed for the type check
 				.orElseGet(() -> {
@@ -14,7 +14,10 @@ import org.eclipse.emf.common.util.EList;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.GeneralEntryRequest;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.RepositoryInterpretationContext;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.resource.CallOverWireRequest;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.resource.ResourceDemandJoin;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.resource.ResourceDemandRequest;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.SEFFInterpretationContext;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.BehaviorContextRecycler;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.InfrastructureCallsContextHolder;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.ActiveResourceFinished;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.CallOverWireAborted;
@@ -22,6 +25,7 @@ import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.CallOverWireSucceeded;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.RepositoryInterpretationInitiated;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.ResourceDemandRequestAborted;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.ResourceDemandRequested;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFExternalActionCalled;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFInfrastructureCalled;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFInterpretationProgressed;
@@ -32,7 +36,10 @@ import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.int
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.UserAborted;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.UserEntryRequested;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.analyzer.slingshot.common.utils.AllocationIndex;
+import org.palladiosimulator.analyzer.slingshot.common.utils.ExecutionOptions;
 import org.palladiosimulator.analyzer.slingshot.common.utils.SimulatedStackHelper;
+import org.palladiosimulator.analyzer.slingshot.common.utils.SimulationIdProvider;
 import org.palladiosimulator.analyzer.slingshot.core.extension.SimulationBehaviorExtension;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.Subscribe;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.eventcontract.OnEvent;
@@ -59,10 +66,13 @@ import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
  */
 @OnEvent(when = UserEntryRequested.class, then = SEFFInterpretationProgressed.class, cardinality = SINGLE)
 @OnEvent(when = RepositoryInterpretationInitiated.class, then = SEFFInterpretationProgressed.class, cardinality = MANY)
-@OnEvent(when = SEFFExternalActionCalled.class, then = CallOverWireRequested.class, cardinality = MANY)
+@OnEvent(when = SEFFExternalActionCalled.class, then = { CallOverWireRequested.class,
+		SEFFInterpretationProgressed.class, UserAborted.class }, cardinality = MANY)
 @OnEvent(when = CallOverWireSucceeded.class, then = {SEFFInterpretationProgressed.class, UserAborted.class}, cardinality = MANY)
-@OnEvent(when = CallOverWireAborted.class, then = CallOverWireRequested.class, cardinality = MANY)
-@OnEvent(when = ActiveResourceFinished.class, then = SEFFInterpretationProgressed.class, cardinality = MANY)
+@OnEvent(when = CallOverWireAborted.class, then = { CallOverWireRequested.class, SEFFInterpretationProgressed.class,
+		UserAborted.class }, cardinality = MANY)
+@OnEvent(when = ActiveResourceFinished.class, then = { SEFFInterpretationProgressed.class,
+		ResourceDemandRequested.class }, cardinality = MANY)
 @OnEvent(when = SEFFInfrastructureCalled.class, then = SEFFInterpretationProgressed.class, cardinality = SINGLE)
 @OnEvent(when = ResourceDemandRequestAborted.class, then = UserAborted.class, cardinality = SINGLE)
 public class SystemSimulationBehavior implements SimulationBehaviorExtension {
@@ -71,11 +81,21 @@ public class SystemSimulationBehavior implements SimulationBehaviorExtension {
 
 	private final Allocation allocationModel;
 	private final SystemModelRepository systemRepository;
+	private final SimulationIdProvider idProvider;
+	private final AllocationIndex allocationIndex;
+
+	/** Provides the wrappers of new root behavior contexts, or {@code null}. */
+	private final BehaviorContextRecycler recycler;
 
 	@Inject
-	public SystemSimulationBehavior(final Allocation allocationModel, final SystemModelRepository repository) {
+	public SystemSimulationBehavior(final Allocation allocationModel, final SystemModelRepository repository,
+			final SimulationIdProvider idProvider, final AllocationIndex allocationIndex,
+			final ExecutionOptions options, final BehaviorContextRecycler recycler) {
 		this.allocationModel = allocationModel;
 		this.systemRepository = repository;
+		this.idProvider = idProvider;
+		this.allocationIndex = allocationIndex;
+		this.recycler = options.recycleBehaviorContexts() ? recycler : null;
 		this.init();
 	}
 
@@ -123,7 +143,7 @@ public class SystemSimulationBehavior implements SimulationBehaviorExtension {
 			final RepositoryInterpreter interpreter = new RepositoryInterpreter(assemblyContextByProvidedRole.get(),
 					operationSignature, operationProvidedRole, request.getUser(), systemRepository, Optional.empty(),
 					null, new SimulatedStackframe<Object>(), userEntryRequested.getUserInterpretationContext(),
-					request);
+					request, this.recycler);
 
 			final Set<SEFFInterpretationProgressed> res = interpreter
 					.doSwitch(assemblyContextByProvidedRole.get().getEncapsulatedComponent__AssemblyContext());
@@ -149,7 +169,7 @@ public class SystemSimulationBehavior implements SimulationBehaviorExtension {
 
 		final RepositoryInterpreter interpreter = new RepositoryInterpreter(context.getAssemblyContext(),
 				context.getSignature(), context.getProvidedRole(), context.getUser(), this.systemRepository,
-				Optional.empty(), null, null);
+				Optional.empty(), null, null, null, null, this.recycler);
 		final Set<SEFFInterpretationProgressed> appearedEvents = interpreter.doSwitch(context.getProvidedRole());
 
 		return Result.of(appearedEvents);
@@ -184,12 +204,16 @@ public class SystemSimulationBehavior implements SimulationBehaviorExtension {
 			final SimulatedStackframe<Object> inputStackframe = SimulatedStackHelper
 					.createAndPushNewStackFrame(entity.getUser().getStack(), entity.getInputVariableUsages());
 			
-			final CallOverWireRequest request = CallOverWireRequest.builder()
+			final CallOverWireRequest request = CallOverWireRequest.builder().id(this.idProvider.nextId())
 					.from(entity.getRequestFrom().getAssemblyContext()).to(assemblyContext.get())
 					.signature(entity.getSignature()).user(entity.getUser()).entryRequest(entity)
 					.variablesToConsider(inputStackframe).build();
 
-			// TODO: Should we do the check whether resource containers are connected here?
+			/* Calls within the same resource container do not need to go over the wire. */
+			if (this.allocationIndex.areCoLocated(request.getFrom(), request.getTo())) {
+				LOGGER.debug("Both components lie on the same resource container -> no call over wire required.");
+				return this.continueAfterCallOverWire(request);
+			}
 
 			return Result.of(new CallOverWireRequested(request));
 		}
@@ -220,23 +244,26 @@ public class SystemSimulationBehavior implements SimulationBehaviorExtension {
 	 */
 	@Subscribe
 	public Result<?> onCallOverWireSucceeded(final CallOverWireSucceeded cowSucceeded) {
-		final GeneralEntryRequest entity = cowSucceeded.getRequest().getEntryRequest();
+		return this.continueAfterCallOverWire(cowSucceeded.getRequest());
+	}
+
+	/**
+	 * Continues with the callee of a call over wire request, or with the caller if
+	 * the request is a reply.
+	 *
+	 * @param request The request whose call over wire has succeeded, or was not
+	 *                necessary.
+	 * @return The events to continue with.
+	 */
+	private Result<?> continueAfterCallOverWire(final CallOverWireRequest request) {
+		final GeneralEntryRequest entity = request.getEntryRequest();
 
-		if (cowSucceeded.getRequest().getReplyTo().isPresent()) {
+		if (request.getReplyTo().isPresent()) {
 			/*
 			 * This is a reply to an already made request from a caller, so we need to go
 			 * back to the caller
 			 */
-			final SEFFInterpretationContext seffInterpretationContext = entity.getRequestFrom();
-
-			/* Pop input variable Usages */
-			entity.getUser().getStack().removeStackFrame();
-
-			/* Push the output variables to the parent stack */
-			SimulatedStackHelper.addParameterToStackFrame(cowSucceeded.getRequest().getVariablesToConsider(),
-					entity.getOutputVariableUsages(), entity.getUser().getStack().currentStackFrame());
-
-			return Result.of(new SEFFInterpretationProgressed(seffInterpretationContext));
+			return Result.of(returnToCaller(entity, request.getVariablesToConsider()));
 		}
 
 		final Optional<AssemblyContext> assemblyContext = this.systemRepository
@@ -248,7 +275,8 @@ public class SystemSimulationBehavior implements SimulationBehaviorExtension {
 		if (assemblyContext.isPresent() && providedRole.isPresent()) {
 			final RepositoryInterpreter interpreter = new RepositoryInterpreter(assemblyContext.get(),
 					entity.getSignature(), providedRole.get(), entity.getUser(), this.systemRepository,
-					Optional.of(entity.getRequestFrom()), cowSucceeded.getRequest(), new SimulatedStackframe<Object>());
+					Optional.of(entity.getRequestFrom()), request, new SimulatedStackframe<Object>(), null, null,
+					this.recycler);
 
 			/* Interpret the Component of the system. */
 			final Set<SEFFInterpretationProgressed> appearedEvents = interpreter
@@ -259,10 +287,33 @@ public class SystemSimulationBehavior implements SimulationBehaviorExtension {
 		LOGGER.debug(String.format("Could not continue after %s to %s. BEWARE : untested edge case!!!",
 				CallOverWireSucceeded.class.getSimpleName(), entity.getRequiredRole().toString()));
 
-		return Result.of(new UserAborted(cowSucceeded.getRequest().getEntryRequest().getRequestFrom()
+		return Result.of(new UserAborted(entity.getRequestFrom()
 				.getRequestProcessingContext().getUserInterpretationContext()));
 	}
 
+	/**
+	 * Returns from a call to the calling SEFF. The input variables of the call are
+	 * popped from the user's stack, and the output variables are added to the
+	 * caller's stack frame.
+	 *
+	 * @param entity      The request of the call.
+	 * @param returnFrame The stack frame with the results of the call.
+	 * @return The event to continue the interpretation of the caller.
+	 */
+	static SEFFInterpretationProgressed returnToCaller(final GeneralEntryRequest entity,
+			final SimulatedStackframe<Object> returnFrame) {
+		final SEFFInterpretationContext seffInterpretationContext = entity.getRequestFrom();
+
+		/* Pop input variable Usages */
+		entity.getUser().getStack().removeStackFrame();
+
+		/* Push the output variables to the parent stack */
+		SimulatedStackHelper.addParameterToStackFrame(returnFrame, entity.getOutputVariableUsages(),
+				entity.getUser().getStack().currentStackFrame());
+
+		return new SEFFInterpretationProgressed(seffInterpretationContext);
+	}
+
 	@Subscribe
 	public Result<?> onCallOverWireAborted(final CallOverWireAborted cowAborted) {
 		LOGGER.info("The call over wire was aborted, retry");
@@ -290,8 +341,9 @@ public class SystemSimulationBehavior implements SimulationBehaviorExtension {
 	}
 
 	/**
-	 * Helper method to traverse the SeffInterpretationContext and find the
-	 * UserInterpretationContext.
+	 * Helper method to find the UserInterpretationContext of the
+	 * SeffInterpretationContext. The context resolves it once on creation, see
+	 * {@link SEFFInterpretationContext#getUserInterpretationContext()}.
 	 *
 	 * @param seffContext
 	 * @return
@@ -299,15 +351,8 @@ public class SystemSimulationBehavior implements SimulationBehaviorExtension {
 	 */
 	private UserInterpretationContext findUserInterpretationContext(final SEFFInterpretationContext seffContext)
 			throws NoSuchElementException {
-		if (seffContext.getRequestProcessingContext().getUserInterpretationContext() != null) {
-			return seffContext.getRequestProcessingContext().getUserInterpretationContext();
-		}
-		if (seffContext.getCaller().isPresent()) {
-			return findUserInterpretationContext(seffContext.getCaller().get());
-		} else if (seffContext.getParent().isPresent()) {
-			return findUserInterpretationContext(seffContext.getParent().get());
-		}
-		throw new NoSuchElementException("User Interpretation Context not found!");
+		return seffContext.getUserInterpretationContext()
+				.orElseThrow(() -> new NoSuchElementException("User Interpretation Context not found!"));
 	}
 
 	/**
@@ -329,7 +374,7 @@ public class SystemSimulationBehavior implements SimulationBehaviorExtension {
 		if (assemblyContext.isPresent()) {
 			final RepositoryInterpreter interpreter = new RepositoryInterpreter(assemblyContext.get(),
 					entity.getSignature(), null, entity.getUser(), this.systemRepository,
-					Optional.of(entity.getRequestFrom()), null, null);
+					Optional.of(entity.getRequestFrom()), null, null, null, null, this.recycler);
 
 			/* Interpret the Component of the system. */
 			final Set<SEFFInterpretationProgressed> appearedEvents = interpreter
@@ -343,6 +388,18 @@ public class SystemSimulationBehavior implements SimulationBehaviorExtension {
 	@Subscribe
 	public Result<DESEvent> onActiveResourceFinished(final ActiveResourceFinished activeResourceFinished) {
 
+		/* Continue only once after all demands of the same internal action. */
+		final Optional<ResourceDemandJoin> join = activeResourceFinished.getEntity().getJoin();
+		if (join.isPresent()) {
+			final Optional<ResourceDemandRequest> next = join.get().processed();
+			if (next.isPresent()) {
+				return Result.of(new ResourceDemandRequested(next.get()));
+			}
+			if (!join.get().isCompleted()) {
+				return Result.empty();
+			}
+		}
+
 		final SEFFInterpretationContext parentContext = activeResourceFinished.getEntity()
 				.getSeffInterpretationContext();
 		final AbstractAction parentalAction = parentContext.getBehaviorContext().getCurrentProcessedBehavior()
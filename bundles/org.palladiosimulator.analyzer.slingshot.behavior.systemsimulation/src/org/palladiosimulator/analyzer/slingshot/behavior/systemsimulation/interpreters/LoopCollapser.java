@@ -0,0 +1,159 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.interpreters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.ActiveResourceStateUpdated;
+import org.palladiosimulator.analyzer.slingshot.behavior.resourcesimulation.events.ResourceDemandCalculated;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFModelPassedElement;
+import org.palladiosimulator.analyzer.slingshot.common.utils.AllocationIndex;
+import org.palladiosimulator.analyzer.slingshot.common.utils.ExecutionOptions;
+import org.palladiosimulator.analyzer.slingshot.common.utils.ModelCache;
+import org.palladiosimulator.analyzer.slingshot.common.utils.MonitoredElements;
+import org.palladiosimulator.pcm.core.composition.AssemblyContext;
+import org.palladiosimulator.pcm.resourceenvironment.ProcessingResourceSpecification;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
+import org.palladiosimulator.pcm.seff.AbstractAction;
+import org.palladiosimulator.pcm.seff.InternalAction;
+import org.palladiosimulator.pcm.seff.LoopAction;
+import org.palladiosimulator.pcm.seff.StartAction;
+import org.palladiosimulator.pcm.seff.StopAction;
+import org.palladiosimulator.pcm.seff.seff_performance.ParametricResourceDemand;
+
+/**
+ * Decides whether a {@link LoopAction} may be collapsed, i.e. whether all of
+ * its iterations may be simulated as one aggregated demand per resource type
+ * instead of one round trip through the resource simulation per iteration and
+ * demand.
+ * <p>
+ * A loop is collapsible if
+ * <ul>
+ * <li>its body consists of internal actions only, without infrastructure or
+ * resource calls,</li>
+ * <li>each demand of the body is on a FCFS or processor sharing resource of
+ * the container the assembly context is allocated to, and</li>
+ * <li>no probe watches the demands or the state of these resources, and</li>
+ * <li>no probe watches the passed elements of the assembly context, as the
+ * actions of a collapsed body are not passed.</li>
+ * </ul>
+ * The analysis of the loop body is cached on the loop and dropped if the body
+ * changes.
+ * <p>
+ * Collapsing changes the interleaving with other users at the resource, and is
+ * therefore only done if {@link ExecutionOptions#COLLAPSE_INTERNAL_LOOPS} is
+ * enabled.
+ */
+@Singleton
+public final class LoopCollapser {
+
+	private static final Logger LOGGER = Logger.getLogger(LoopCollapser.class);
+
+	private static final Set<String> COLLAPSIBLE_POLICIES = Set.of("FCFS", "ProcessorSharing");
+
+	/** The event types whose probes would observe the difference. */
+	private static final Set<Class<?>> RESOURCE_MONITORING_EVENTS = Set.of(ActiveResourceStateUpdated.class,
+			ResourceDemandCalculated.class);
+
+	private final boolean enabled;
+	private final AllocationIndex allocationIndex;
+	private final MonitoredElements monitoredElements;
+
+	@Inject
+	public LoopCollapser(final AllocationIndex allocationIndex, final MonitoredElements monitoredElements,
+			final ExecutionOptions options) {
+		this.allocationIndex = allocationIndex;
+		this.monitoredElements = monitoredElements;
+		this.enabled = options.collapseInternalLoops();
+	}
+
+	/**
+	 * Returns the resource demands of the loop body, if the loop may be collapsed
+	 * in the given assembly context.
+	 *
+	 * @param loop     The loop to collapse.
+	 * @param assembly The assembly context in which the loop is interpreted.
+	 * @return the demands of one iteration, or an empty optional if the loop must
+	 *         be interpreted iteration by iteration.
+	 */
+	public Optional<List<ParametricResourceDemand>> collapsibleDemands(final LoopAction loop,
+			final AssemblyContext assembly) {
+		if (!this.enabled || this.monitoredElements.hasWatcher(SEFFModelPassedElement.class, assembly.getId())) {
+			return Optional.empty();
+		}
+
+		final Optional<List<ParametricResourceDemand>> demands = bodyDemands(loop);
+		if (demands.isEmpty() || demands.get().isEmpty()) {
+			return Optional.empty();
+		}
+
+		final Optional<ResourceContainer> container = this.allocationIndex.findResourceContainer(assembly);
+		if (container.isEmpty()) {
+			return Optional.empty();
+		}
+
+		for (final ParametricResourceDemand demand : demands.get()) {
+			if (!this.isCollapsible(demand, container.get())) {
+				return Optional.empty();
+			}
+		}
+
+		LOGGER.debug("Collapsing loop " + loop.getId());
+		return demands;
+	}
+
+	private boolean isCollapsible(final ParametricResourceDemand demand, final ResourceContainer container) {
+		final String resourceTypeId = demand.getRequiredResource_ParametricResourceDemand().getId();
+		for (final ProcessingResourceSpecification spec : container.getActiveResourceSpecifications_ResourceContainer()) {
+			if (spec.getActiveResourceType_ActiveResourceSpecification().getId().equals(resourceTypeId)) {
+				return COLLAPSIBLE_POLICIES.contains(spec.getSchedulingPolicy().getId()) && !this.isMonitored(spec);
+			}
+		}
+		return false;
+	}
+
+	private boolean isMonitored(final ProcessingResourceSpecification spec) {
+		return RESOURCE_MONITORING_EVENTS.stream()
+				.anyMatch(eventType -> this.monitoredElements.hasWatcher(eventType, spec.getId()));
+	}
+
+	/**
+	 * Returns the demands of the loop body, or an empty optional if the body
+	 * contains anything else than internal actions.
+	 */
+	private static Optional<List<ParametricResourceDemand>> bodyDemands(final LoopAction loop) {
+		final ModelCache<LoopAction, Optional<List<ParametricResourceDemand>>> cache = ModelCache.of(loop,
+				LoopCollapser.class);
+		Optional<List<ParametricResourceDemand>> demands = cache.get(loop);
+		if (demands == null) {
+			demands = analyze(loop);
+			cache.put(loop, demands);
+			cache.observeTree(loop.getBodyBehaviour_Loop());
+		}
+		return demands;
+	}
+
+	private static Optional<List<ParametricResourceDemand>> analyze(final LoopAction loop) {
+		final List<ParametricResourceDemand> demands = new ArrayList<>();
+		for (final AbstractAction action : loop.getBodyBehaviour_Loop().getSteps_Behaviour()) {
+			if (action instanceof StartAction || action instanceof StopAction) {
+				continue;
+			}
+			if (!(action instanceof InternalAction)) {
+				return Optional.empty();
+			}
+			final InternalAction internalAction = (InternalAction) action;
+			if (!internalAction.getInfrastructureCall__Action().isEmpty()
+					|| !internalAction.getResourceCall__Action().isEmpty()) {
+				return Optional.empty();
+			}
+			demands.addAll(internalAction.getResourceDemand_Action());
+		}
+		return Optional.of(List.copyOf(demands));
+	}
+}
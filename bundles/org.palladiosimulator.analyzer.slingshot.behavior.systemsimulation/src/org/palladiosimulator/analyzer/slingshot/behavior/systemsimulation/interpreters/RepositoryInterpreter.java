@@ -6,11 +6,11 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.log4j.Logger;
-import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.resource.CallOverWireRequest;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.SEFFInterpretationContext;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.BehaviorContextRecycler;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.RootBehaviorContextHolder;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.user.RequestProcessingContext;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFInterpretationProgressed;
@@ -20,18 +20,14 @@ import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.Use
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.interpretationcontext.UserInterpretationContext;
 import org.palladiosimulator.analyzer.slingshot.common.utils.SimulatedStackHelper;
 import org.palladiosimulator.pcm.core.composition.AssemblyContext;
-import org.palladiosimulator.pcm.core.composition.ComposedStructure;
-import org.palladiosimulator.pcm.core.composition.CompositionPackage;
 import org.palladiosimulator.pcm.core.composition.ProvidedDelegationConnector;
 import org.palladiosimulator.pcm.core.entity.ComposedProvidingRequiringEntity;
 import org.palladiosimulator.pcm.core.entity.EntityPackage;
-import org.palladiosimulator.pcm.core.entity.InterfaceProvidingEntity;
 import org.palladiosimulator.pcm.repository.BasicComponent;
 import org.palladiosimulator.pcm.repository.ProvidedRole;
 import org.palladiosimulator.pcm.repository.Signature;
 import org.palladiosimulator.pcm.repository.util.RepositorySwitch;
 import org.palladiosimulator.pcm.seff.ResourceDemandingSEFF;
-import org.palladiosimulator.pcm.seff.ServiceEffectSpecification;
 
 import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
 
@@ -82,6 +78,9 @@ public class RepositoryInterpreter extends RepositorySwitch<Set<SEFFInterpretati
 	 */
 	private final SimulatedStackframe<Object> resultStackframe;
 
+	/** Provides the wrappers of the root behavior contexts, or {@code null}. */
+	private final BehaviorContextRecycler recycler;
+
 	/**
 	 * Instantiates the interpreter with given information. Depending on the
 	 * interpretation, not every parameter must be set (every parameter CAN be
@@ -116,6 +115,25 @@ public class RepositoryInterpreter extends RepositorySwitch<Set<SEFFInterpretati
 			final Optional<SEFFInterpretationContext> callerContext, final CallOverWireRequest request,
 			final SimulatedStackframe<Object> resultStackframe,
 			final UserInterpretationContext userInterpretationContext, final UserRequest userRequest) {
+		this(context, signature, providedRole, user, modelRepository, callerContext, request, resultStackframe,
+				userInterpretationContext, userRequest, null);
+	}
+
+	/**
+	 * Like
+	 * {@link #RepositoryInterpreter(AssemblyContext, Signature, ProvidedRole, User, SystemModelRepository, Optional, CallOverWireRequest, SimulatedStackframe, UserInterpretationContext, UserRequest)},
+	 * but obtains the behavior wrappers of the interpreted SEFFs from the
+	 * recycler.
+	 *
+	 * @param recycler The recycler of the simulation run, or {@code null} to
+	 *                 create new wrappers.
+	 */
+	public RepositoryInterpreter(final AssemblyContext context, final Signature signature,
+			final ProvidedRole providedRole, final User user, final SystemModelRepository modelRepository,
+			final Optional<SEFFInterpretationContext> callerContext, final CallOverWireRequest request,
+			final SimulatedStackframe<Object> resultStackframe,
+			final UserInterpretationContext userInterpretationContext, final UserRequest userRequest,
+			final BehaviorContextRecycler recycler) {
 		this.assemblyContext = context;
 		this.signature = signature;
 		this.providedRole = providedRole;
@@ -127,6 +145,7 @@ public class RepositoryInterpreter extends RepositorySwitch<Set<SEFFInterpretati
 
 		this.userInterpretationContext = userInterpretationContext;
 		this.userRequest = userRequest;
+		this.recycler = recycler;
 	}
 
 	/**
@@ -147,48 +166,29 @@ public class RepositoryInterpreter extends RepositorySwitch<Set<SEFFInterpretati
 		SimulatedStackHelper.createAndPushNewStackFrame(this.user.getStack(),
 				this.assemblyContext.getConfigParameterUsages__AssemblyContext(), componentParameterStackframe);
 
-		final List<ServiceEffectSpecification> calledSeffs = this
-				.getSeffsForCall(object.getServiceEffectSpecifications__BasicComponent(), this.signature);
-
-		return calledSeffs.stream().filter(ResourceDemandingSEFF.class::isInstance)
-				.map(ResourceDemandingSEFF.class::cast).map(rdSeff -> {
-					/*
-					 * Define for each SEFF a new request event to be interpreted.
-					 */
-					final SEFFInterpretationContext context = SEFFInterpretationContext.builder()
-							.withAssemblyContext(this.assemblyContext).withCaller(this.callerContext)
-							.withBehaviorContext(new RootBehaviorContextHolder(rdSeff))
-							.withRequestProcessingContext(
-									RequestProcessingContext.builder()
-											.withAssemblyContext(this.assemblyContext)
-											.withProvidedRole(this.providedRole)
-											.withUser(this.user)
-											.withUserInterpretationContext(userInterpretationContext)
-											.withUserRequest(userRequest)
-											.build())
-							.withCallOverWireRequest(callOverWireRequest)
-							.withResultStackframe(this.resultStackframe)
-							.build();
-					return new SEFFInterpretationProgressed(context);
-				}).collect(Collectors.toSet());
+		final List<ResourceDemandingSEFF> calledSeffs = ResolutionCache.seffsFor(object, this.signature);
 
-	}
+		return calledSeffs.stream().map(rdSeff -> {
+			/*
+			 * Define for each SEFF a new request event to be interpreted.
+			 */
+			final SEFFInterpretationContext context = SEFFInterpretationContext.builder()
+					.withAssemblyContext(this.assemblyContext).withCaller(this.callerContext)
+					.withBehaviorContext(new RootBehaviorContextHolder(rdSeff, this.recycler))
+					.withRequestProcessingContext(
+							RequestProcessingContext.builder()
+									.withAssemblyContext(this.assemblyContext)
+									.withProvidedRole(this.providedRole)
+									.withUser(this.user)
+									.withUserInterpretationContext(userInterpretationContext)
+									.withUserRequest(userRequest)
+									.build())
+					.withCallOverWireRequest(callOverWireRequest)
+					.withResultStackframe(this.resultStackframe)
+					.build();
+			return new SEFFInterpretationProgressed(context);
+		}).collect(Collectors.toSet());
 
-	/**
-	 * Helper method that returns the list of SEFFs that are meant for the
-	 * operationSignature.
-	 *
-	 * @param serviceEffectSpecifications The (Ecore) list of all seffs.
-	 * @param operationSignature          The signature which a SEFF should
-	 *                                    describe.
-	 * @return List of seffs describing {@code operationSignature}.
-	 */
-	private List<ServiceEffectSpecification> getSeffsForCall(
-			final EList<ServiceEffectSpecification> serviceEffectSpecifications, final Signature operationSignature) {
-		assert serviceEffectSpecifications != null && operationSignature != null;
-		return serviceEffectSpecifications.stream()
-				.filter(seff -> seff.getDescribedService__SEFF().getId().equals(operationSignature.getId()))
-				.collect(Collectors.toList());
 	}
 
 	/**
@@ -226,7 +226,9 @@ public class RepositoryInterpreter extends RepositorySwitch<Set<SEFFInterpretati
 	 * to this entity with a delegation connector.
 	 *
 	 * If such assembly context exists, then the (provided) role of that assembly
-	 * context will be interpreted.
+	 * context will be interpreted. Nested composite entities are skipped, i.e. the
+	 * delegation chain is followed down to the innermost assembly context at once,
+	 * see {@link ResolutionCache#innermostDelegation}.
 	 *
 	 */
 	@Override
@@ -240,36 +242,17 @@ public class RepositoryInterpreter extends RepositorySwitch<Set<SEFFInterpretati
 			return Set.of();
 		}
 
-		final ProvidedDelegationConnector connectedProvidedDelegationConnector = this
-				.getConnectedProvidedDelegationConnector().orElseThrow(IllegalStateException::new);
+		final ProvidedDelegationConnector connectedProvidedDelegationConnector = ResolutionCache
+				.innermostDelegation(entity, this.providedRole).orElseThrow(IllegalStateException::new);
 		final RepositoryInterpreter repositoryInterpreter = new RepositoryInterpreter(
 				connectedProvidedDelegationConnector.getAssemblyContext_ProvidedDelegationConnector(), this.signature,
 				connectedProvidedDelegationConnector.getInnerProvidedRole_ProvidedDelegationConnector(), this.user,
-				this.modelRepository, Optional.empty(), this.callOverWireRequest, this.resultStackframe);
+				this.modelRepository, Optional.empty(), this.callOverWireRequest, this.resultStackframe, null, null,
+				this.recycler);
 		return repositoryInterpreter
 				.doSwitch(connectedProvidedDelegationConnector.getInnerProvidedRole_ProvidedDelegationConnector());
 	}
 
-	/**
-	 * Determines the provided delegation connector which is connected with the
-	 * provided role.
-	 *
-	 * @return the determined provided delegation connector, null otherwise.
-	 */
-	private Optional<ProvidedDelegationConnector> getConnectedProvidedDelegationConnector() {
-		final InterfaceProvidingEntity implementingEntity = this.providedRole.getProvidingEntity_ProvidedRole();
-		assert implementingEntity instanceof ComposedStructure;
-
-		final ComposedStructure composedStructure = (ComposedStructure) implementingEntity;
-
-		return composedStructure.getConnectors__ComposedStructure().stream().filter(
-				connector -> connector.eClass() == CompositionPackage.eINSTANCE.getProvidedDelegationConnector())
-				.map(ProvidedDelegationConnector.class::cast).filter(delegationConnector -> delegationConnector
-						.getOuterProvidedRole_ProvidedDelegationConnector().getId().equals(this.providedRole.getId()))
-				.findFirst();
-
-	}
-
 	/**
 	 * Overrides the switch in such a way that
 	 * {@link ComposedProvidingRequiringEntity}s (and their subtypes) will always
@@ -0,0 +1,122 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.interpreters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.palladiosimulator.analyzer.slingshot.common.utils.ModelCache;
+import org.palladiosimulator.pcm.core.composition.CompositionPackage;
+import org.palladiosimulator.pcm.core.composition.Connector;
+import org.palladiosimulator.pcm.core.composition.ProvidedDelegationConnector;
+import org.palladiosimulator.pcm.core.entity.ComposedProvidingRequiringEntity;
+import org.palladiosimulator.pcm.repository.BasicComponent;
+import org.palladiosimulator.pcm.repository.ProvidedRole;
+import org.palladiosimulator.pcm.repository.Signature;
+import org.palladiosimulator.pcm.seff.ResourceDemandingSEFF;
+import org.palladiosimulator.pcm.seff.ServiceEffectSpecification;
+
+/**
+ * Caches what the {@link RepositoryInterpreter} resolves when a component is
+ * entered:
+ * <ul>
+ * <li>the SEFFs of a basic component for a signature, and</li>
+ * <li>the chain of provided delegation connectors from a provided role of a
+ * composite entity down to the first inner role that is not provided by a
+ * composite entity.</li>
+ * </ul>
+ * The results are stored in {@link ModelCache}s on the component resp.
+ * composite entity, so that they are shared by all requests.
+ */
+final class ResolutionCache {
+
+	/** The type of the caches of SEFFs by signature id. */
+	private static final Object SEFFS = new Object();
+
+	/** The type of the caches of delegations by provided role id. */
+	private static final Object DELEGATIONS = new Object();
+
+	private ResolutionCache() {
+		// static helper
+	}
+
+	/**
+	 * Returns the resource demanding SEFFs of the component that describe the
+	 * signature.
+	 *
+	 * @param component The basic component.
+	 * @param signature The called signature.
+	 * @return the SEFFs, in the order of the component.
+	 */
+	static List<ResourceDemandingSEFF> seffsFor(final BasicComponent component, final Signature signature) {
+		final ModelCache<String, List<ResourceDemandingSEFF>> cache = ModelCache.of(component, SEFFS);
+		List<ResourceDemandingSEFF> seffs = cache.get(signature.getId());
+		if (seffs == null) {
+			seffs = new ArrayList<>(1);
+			for (final ServiceEffectSpecification seff : component.getServiceEffectSpecifications__BasicComponent()) {
+				cache.observe(seff);
+				if (seff instanceof final ResourceDemandingSEFF rdSeff
+						&& seff.getDescribedService__SEFF().getId().equals(signature.getId())) {
+					seffs.add(rdSeff);
+				}
+			}
+			seffs = List.copyOf(seffs);
+			cache.put(signature.getId(), seffs);
+		}
+		return seffs;
+	}
+
+	/**
+	 * Follows the provided delegation connectors of the provided role of the
+	 * composite entity, through nested composite entities, and returns the last
+	 * one. Its inner provided role is not provided by a composite entity.
+	 *
+	 * @param entity       The composite entity providing the role.
+	 * @param providedRole The outer provided role.
+	 * @return the innermost delegation connector, or an empty optional if some
+	 *         role on the way is not delegated.
+	 */
+	static Optional<ProvidedDelegationConnector> innermostDelegation(final ComposedProvidingRequiringEntity entity,
+			final ProvidedRole providedRole) {
+		final ModelCache<String, Optional<ProvidedDelegationConnector>> cache = ModelCache.of(entity, DELEGATIONS);
+		Optional<ProvidedDelegationConnector> result = cache.get(providedRole.getId());
+		if (result == null) {
+			result = resolve(cache, entity, providedRole);
+			cache.put(providedRole.getId(), result);
+		}
+		return result;
+	}
+
+	private static Optional<ProvidedDelegationConnector> resolve(
+			final ModelCache<String, Optional<ProvidedDelegationConnector>> cache,
+			final ComposedProvidingRequiringEntity entity, final ProvidedRole providedRole) {
+		ComposedProvidingRequiringEntity composite = entity;
+		ProvidedRole role = providedRole;
+		while (true) {
+			cache.observe(composite);
+			final ProvidedDelegationConnector connector = findDelegation(composite, role);
+			if (connector == null) {
+				return Optional.empty();
+			}
+			cache.observe(connector);
+
+			role = connector.getInnerProvidedRole_ProvidedDelegationConnector();
+			if (!(role.getProvidingEntity_ProvidedRole() instanceof final ComposedProvidingRequiringEntity inner)) {
+				return Optional.of(connector);
+			}
+			composite = inner;
+		}
+	}
+
+	private static ProvidedDelegationConnector findDelegation(final ComposedProvidingRequiringEntity composite,
+			final ProvidedRole role) {
+		for (final Connector connector : composite.getConnectors__ComposedStructure()) {
+			if (connector.eClass() == CompositionPackage.eINSTANCE.getProvidedDelegationConnector()) {
+				final ProvidedDelegationConnector delegation = (ProvidedDelegationConnector) connector;
+				if (delegation.getOuterProvidedRole_ProvidedDelegationConnector().getId().equals(role.getId())) {
+					return delegation;
+				}
+			}
+		}
+		return null;
+	}
+}
@@ -1,10 +1,16 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.interpreters;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.stream.Collectors;
 
 import org.apache.log4j.Logger;
@@ -12,13 +18,19 @@ import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.GeneralEntryRequest;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.resource.ResourceDemandJoin;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.resource.ResourceDemandRequest;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.resource.ResourceDemandRequest.ResourceType;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.SEFFInterpretationContext;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.BranchBehaviorContextHolder;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.ForkBehaviorContextHolder;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.ForkJoinBarrier;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.ForkedBranchContextHolder;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.InfrastructureCallsContextHolder;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.LoopBehaviorContextHolder;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.SeffBehaviorContextHolder;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.behaviorcontext.SeffBehaviorWrapper;
+import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.entities.seff.program.SeffInstruction;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.PassiveResourceReleased;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.ResourceDemandRequested;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFChildInterpretationStarted;
@@ -28,12 +40,16 @@ import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFInterpretationProgressed;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFInterpreted;
 import org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.events.SEFFModelPassedElement;
+import org.palladiosimulator.analyzer.slingshot.common.utils.ExecutionOptions;
+import org.palladiosimulator.analyzer.slingshot.common.utils.MonitoredElements;
 import org.palladiosimulator.analyzer.slingshot.common.utils.SimulatedStackHelper;
 import org.palladiosimulator.analyzer.slingshot.common.utils.TransitionDeterminer;
+import org.palladiosimulator.analyzer.slingshot.common.utils.stoexproxy.CompiledStoEx;
 import org.palladiosimulator.pcm.parameter.VariableUsage;
 import org.palladiosimulator.pcm.repository.OperationRequiredRole;
 import org.palladiosimulator.pcm.repository.OperationSignature;
 import org.palladiosimulator.pcm.repository.Parameter;
+import org.palladiosimulator.pcm.seff.AbstractAction;
 import org.palladiosimulator.pcm.seff.AbstractBranchTransition;
 import org.palladiosimulator.pcm.seff.AcquireAction;
 import org.palladiosimulator.pcm.seff.BranchAction;
@@ -75,16 +91,95 @@ public class SeffInterpreter extends SeffSwitch<Set<SEFFInterpreted>> {
 
 	private final SEFFInterpretationContext context;
 
+	/** The random stream for choosing branch transitions. */
+	private final SplittableRandom branchingRandom;
+
+	/** The elements for which {@link SEFFModelPassedElement} events are emitted. */
+	private final MonitoredElements monitoredElements;
+
+	/** Decides which loops are simulated as aggregated demands. */
+	private final LoopCollapser loopCollapser;
+
+	/** Whether forked behaviors are interpreted in contexts of their own. */
+	private final boolean independentForkBranches;
+
+	/** Whether the demands of an internal action are processed one after another. */
+	private final boolean sequentialDemands;
+
 	/**
 	 * Instantiates the SeffInterpreter with the needed information of user context
 	 * and assembly context entity. These information are needed as the seff always
 	 * works on a certain call stack.
 	 *
-	 * @param context The interpretation context onto which the Seff specification
-	 *                is bound.
+	 * @param context           The interpretation context onto which the Seff
+	 *                          specification is bound.
+	 * @param branchingRandom   The random stream for choosing branch transitions.
+	 * @param monitoredElements The elements watched by probes.
+	 * @param loopCollapser     Decides which loops are collapsed.
+	 * @param options           The execution options of the simulation.
 	 */
-	public SeffInterpreter(final SEFFInterpretationContext context) {
+	public SeffInterpreter(final SEFFInterpretationContext context, final SplittableRandom branchingRandom,
+			final MonitoredElements monitoredElements, final LoopCollapser loopCollapser,
+			final ExecutionOptions options) {
 		this.context = context;
+		this.branchingRandom = branchingRandom;
+		this.monitoredElements = monitoredElements;
+		this.loopCollapser = loopCollapser;
+		this.independentForkBranches = options.independentForkBranches();
+		this.sequentialDemands = options.sequentialResourceDemands();
+	}
+
+	/**
+	 * Interprets the next action of the behavior context. Actions of compiled
+	 * behaviors are dispatched over their opcode, infrastructure calls over the
+	 * model switch.
+	 *
+	 * @param behaviorContext The behavior context of this interpreter's context.
+	 * @return The events resulting from the interpretation.
+	 */
+	public Set<SEFFInterpreted> interpretNext(final SeffBehaviorContextHolder behaviorContext) {
+		if (behaviorContext instanceof InfrastructureCallsContextHolder) {
+			return this.doSwitch(behaviorContext.getNextAction());
+		}
+		return this.interpret(behaviorContext.getNextInstruction());
+	}
+
+	/**
+	 * Interprets a single compiled instruction. This is equivalent to
+	 * {@link #doSwitch(EObject)} on the instruction's action, but avoids the
+	 * dispatch over the model's class hierarchy.
+	 *
+	 * @param instruction The instruction to interpret.
+	 * @return The events resulting from the interpretation.
+	 */
+	public Set<SEFFInterpreted> interpret(final SeffInstruction instruction) {
+		final AbstractAction action = instruction.getAction();
+		switch (instruction.getOpcode()) {
+		case START:
+			return this.caseStartAction((StartAction) action);
+		case STOP:
+			return this.caseStopAction((StopAction) action);
+		case INTERNAL:
+			return this.caseInternalAction((InternalAction) action);
+		case EXTERNAL_CALL:
+			return this.caseExternalCallAction((ExternalCallAction) action);
+		case BRANCH:
+			return this.caseBranchAction((BranchAction) action);
+		case LOOP:
+			return this.caseLoopAction((LoopAction) action);
+		case COLLECTION_ITERATOR:
+			return this.caseCollectionIteratorAction((CollectionIteratorAction) action);
+		case FORK:
+			return this.caseForkAction((ForkAction) action);
+		case ACQUIRE:
+			return this.caseAcquireAction((AcquireAction) action);
+		case RELEASE:
+			return this.caseReleaseAction((ReleaseAction) action);
+		case SET_VARIABLE:
+			return this.caseSetVariableAction((SetVariableAction) action);
+		default:
+			return this.doSwitch(action);
+		}
 	}
 
 	/**
@@ -96,6 +191,9 @@ public class SeffInterpreter extends SeffSwitch<Set<SEFFInterpreted>> {
 	@Override
 	public Set<SEFFInterpreted> caseStopAction(final StopAction object) {
 		LOGGER.debug("Seff stopped.");
+		if (!this.isPassedElementWatched()) {
+			return Set.of(new SEFFInterpretationFinished(this.context));
+		}
 		return Set.of(new SEFFInterpretationFinished(this.context),
 				new SEFFModelPassedElement<StopAction>(object, this.context));
 	}
@@ -109,7 +207,8 @@ public class SeffInterpreter extends SeffSwitch<Set<SEFFInterpreted>> {
 		}
 
 		final TransitionDeterminer transitionDeterminer = new TransitionDeterminer(
-				this.context.getRequestProcessingContext().getUser().getStack().currentStackFrame());
+				this.context.getRequestProcessingContext().getUser().getStack().currentStackFrame(),
+				this.branchingRandom);
 		AbstractBranchTransition branchTransition = transitionDeterminer.determineTransition(abstractBranchTransitions);
 		
 		if (branchTransition == null) {
@@ -122,13 +221,7 @@ public class SeffInterpreter extends SeffSwitch<Set<SEFFInterpreted>> {
 		final BranchBehaviorContextHolder holder = new BranchBehaviorContextHolder(
 				branchTransition.getBranchBehaviour_BranchTransition(), branchAction.getSuccessor_AbstractAction(),
 				this.context.getBehaviorContext().getCurrentProcessedBehavior());
-		final SEFFInterpretationContext childContext = this.context.createChildContext()
-				.withBehaviorContext(holder)
-				.withRequestProcessingContext(this.context.getRequestProcessingContext())
-				// .withCaller(this.context.getCaller()) // imho, children should not have
-				// callers, only parents.
-				.withAssemblyContext(this.context.getAssemblyContext())
-				.build();
+		final SEFFInterpretationContext childContext = this.context.createChild(holder);
 
 		final SEFFChildInterpretationStarted event = new SEFFChildInterpretationStarted(childContext);
 
@@ -144,30 +237,117 @@ public class SeffInterpreter extends SeffSwitch<Set<SEFFInterpreted>> {
 	@Override
 	public Set<SEFFInterpreted> caseStartAction(final StartAction object) {
 		LOGGER.debug("Found starting action of SEFF");
+		if (!this.isPassedElementWatched()) {
+			return Set.of(new SEFFInterpretationProgressed(this.context));
+		}
 		return Set.of(new SEFFInterpretationProgressed(this.context),
 				new SEFFModelPassedElement<StartAction>(object, this.context));
 	}
 
+	/**
+	 * Passed elements are only of interest if a probe watches the assembly context
+	 * of this interpretation.
+	 */
+	private boolean isPassedElementWatched() {
+		return this.monitoredElements.isWatched(SEFFModelPassedElement.class,
+				this.context.getAssemblyContext().getId());
+	}
+
 	@Override
 	public Set<SEFFInterpreted> caseLoopAction(final LoopAction object) {
-		final int iterationCount = StackContext.evaluateStatic(object.getIterationCount_LoopAction().getSpecification(),
-				Integer.class, this.context.getRequestProcessingContext().getUser().getStack().currentStackFrame());
+		final int iterationCount = CompiledStoEx.of(object.getIterationCount_LoopAction(), Integer.class)
+				.evaluate(this.context.getRequestProcessingContext().getUser().getStack().currentStackFrame());
 
 		LOGGER.info("LoopAction: Count " + iterationCount);
 
+		final Optional<List<ParametricResourceDemand>> collapsibleDemands = this.loopCollapser
+				.collapsibleDemands(object, this.context.getAssemblyContext());
+		if (collapsibleDemands.isPresent()) {
+			return this.collapseLoop(collapsibleDemands.get(), iterationCount);
+		}
+
 		final LoopBehaviorContextHolder holder = new LoopBehaviorContextHolder(object.getBodyBehaviour_Loop(),
 				object.getSuccessor_AbstractAction(), this.context.getBehaviorContext().getCurrentProcessedBehavior(),
 				iterationCount);
-		final SEFFInterpretationContext childContext = this.context.createChildContext()
-				.withBehaviorContext(holder)
-				.withRequestProcessingContext(this.context.getRequestProcessingContext())
-				.withCaller(this.context.getCaller())
-				.withAssemblyContext(this.context.getAssemblyContext())
-				.build();
+		final SEFFInterpretationContext childContext = this.context.createChild(holder);
 
 		return Set.of(new SEFFChildInterpretationStarted(childContext));
 	}
 
+	/**
+	 * Requests the demands of all iterations of a collapsed loop at once. The
+	 * demands are summed up per resource type, sampling the specification once per
+	 * iteration unless it is constant.
+	 *
+	 * @see LoopCollapser
+	 */
+	private Set<SEFFInterpreted> collapseLoop(final List<ParametricResourceDemand> demands, final int iterationCount) {
+		if (iterationCount <= 0) {
+			return Set.of(new SEFFInterpretationProgressed(this.context));
+		}
+
+		final SimulatedStackframe<Object> frame = this.context.getRequestProcessingContext().getUser().getStack()
+				.currentStackFrame();
+
+		final Map<String, ParametricResourceDemand> representatives = new LinkedHashMap<>();
+		final Map<String, Double> aggregatedDemands = new HashMap<>();
+		for (final ParametricResourceDemand demand : demands) {
+			final String resourceTypeId = demand.getRequiredResource_ParametricResourceDemand().getId();
+			representatives.putIfAbsent(resourceTypeId, demand);
+
+			final CompiledStoEx<Double> specification = CompiledStoEx
+					.of(demand.getSpecification_ParametericResourceDemand(), Double.class);
+			double sum = 0;
+			if (specification.isConstant()) {
+				sum = iterationCount * specification.evaluate();
+			} else {
+				for (int i = 0; i < iterationCount; i++) {
+					sum += specification.evaluate(frame);
+				}
+			}
+			aggregatedDemands.merge(resourceTypeId, sum, Double::sum);
+		}
+
+		final List<ResourceDemandRequest.Builder> requests = new ArrayList<>();
+		representatives.forEach((resourceTypeId, demand) -> requests.add(this.requestFor(demand)
+				.withAggregatedDemand(aggregatedDemands.get(resourceTypeId))));
+		return this.requestDemands(requests);
+	}
+
+	private ResourceDemandRequest.Builder requestFor(final ParametricResourceDemand demand) {
+		return ResourceDemandRequest.builder()
+				.withAssemblyContext(this.context.getAssemblyContext())
+				.withSeffInterpretationContext(this.context)
+				.withResourceType(ResourceType.ACTIVE)
+				.withParametricResourceDemand(demand);
+	}
+
+	/**
+	 * Requests the demands of a single action. If there is more than one demand,
+	 * the requests are joined, so that the interpretation continues only once
+	 * after all of them have been processed.
+	 *
+	 * @param requests The non-empty requests of the action.
+	 * @return The events requesting the demands to process now.
+	 * @see ResourceDemandJoin
+	 */
+	private Set<SEFFInterpreted> requestDemands(final List<ResourceDemandRequest.Builder> requests) {
+		if (requests.size() == 1) {
+			return Set.of(new ResourceDemandRequested(requests.get(0).build()));
+		}
+
+		final ResourceDemandJoin join = new ResourceDemandJoin(this.sequentialDemands);
+		final List<ResourceDemandRequest> joinedRequests = requests.stream()
+				.map(request -> request.withJoin(join).build())
+				.collect(Collectors.toList());
+
+		final Set<SEFFInterpreted> events = new HashSet<>();
+		for (final ResourceDemandRequest request : join.start(joinedRequests)) {
+			events.add(new ResourceDemandRequested(request));
+		}
+		return Collections.unmodifiableSet(events);
+	}
+
 	@Override
 	public Set<SEFFInterpreted> caseForkAction(final ForkAction object) {
 
@@ -185,21 +365,31 @@ public class SeffInterpreter extends SeffSwitch<Set<SEFFInterpreted>> {
 			throw new IllegalStateException("Empty forked behaviors is not allowed");
 		}
 
-		final ForkBehaviorContextHolder forkedBehaviorContext = new ForkBehaviorContextHolder(rdBehaviors,
-				object.getSuccessor_AbstractAction(), this.context.getBehaviorContext().getCurrentProcessedBehavior());
-
-		final List<SEFFInterpretationContext> childContexts = rdBehaviors.stream()
-				.map(rdBehavior -> this.context.createChildContext().withBehaviorContext(forkedBehaviorContext)
-						.withRequestProcessingContext(this.context.getRequestProcessingContext())
-						.withCaller(this.context.getCaller())
-						.withAssemblyContext(this.context.getAssemblyContext())
-						.build())
-				.collect(Collectors.toList());
+		final SeffBehaviorWrapper parent = this.context.getBehaviorContext().getCurrentProcessedBehavior();
+
+		final List<SEFFInterpretationContext> childContexts;
+		if (this.independentForkBranches) {
+			final ForkJoinBarrier barrier = new ForkJoinBarrier(rdBehaviors.size());
+			childContexts = rdBehaviors.stream()
+					.map(rdBehavior -> this.createForkChildContext(new ForkedBranchContextHolder(rdBehavior,
+							object.getSuccessor_AbstractAction(), parent, barrier)))
+					.collect(Collectors.toList());
+		} else {
+			final ForkBehaviorContextHolder forkedBehaviorContext = new ForkBehaviorContextHolder(rdBehaviors,
+					object.getSuccessor_AbstractAction(), parent);
+			childContexts = rdBehaviors.stream()
+					.map(rdBehavior -> this.createForkChildContext(forkedBehaviorContext))
+					.collect(Collectors.toList());
+		}
 
 		return childContexts.stream().map(SEFFChildInterpretationStarted::new)
 				.collect(Collectors.toSet());
 	}
 
+	private SEFFInterpretationContext createForkChildContext(final SeffBehaviorContextHolder behaviorContext) {
+		return this.context.createChild(behaviorContext);
+	}
+
 	/**
 	 * An external call action requires to find the next SEFF specification onto
 	 * which the spec is called; hence, this method will return a
@@ -221,7 +411,7 @@ public class SeffInterpreter extends SeffSwitch<Set<SEFFInterpreted>> {
 				.withRequiredRole(requiredRole)
 				.withSignature(calledServiceSignature)
 				.withUser(this.context.getRequestProcessingContext().getUser())
-				.withRequestFrom(this.context.update().build())
+				.withRequestFrom(this.context.withCurrentResultStackframe())
 				.build();
 
 		return Set.of(new SEFFExternalActionCalled(entryRequest));
@@ -290,9 +480,7 @@ public class SeffInterpreter extends SeffSwitch<Set<SEFFInterpreted>> {
 		final LoopBehaviorContextHolder holder = new LoopBehaviorContextHolder(object.getBodyBehaviour_Loop(),
 				object.getSuccessor_AbstractAction(), this.context.getBehaviorContext().getCurrentProcessedBehavior(),
 				iterationCount);
-		final SEFFInterpretationContext newContext = this.context.createChildContextPrefilled()
-				.withBehaviorContext(holder)
-				.build();
+		final SEFFInterpretationContext newContext = this.context.createChild(holder);
 
 		return Set.of(new SEFFChildInterpretationStarted(newContext));
 	}
@@ -319,7 +507,7 @@ public class SeffInterpreter extends SeffSwitch<Set<SEFFInterpreted>> {
 					.withRequiredRole(call.getRequiredRole__InfrastructureCall())
 					.withSignature(call.getSignature__InfrastructureCall())
 					.withUser(this.context.getRequestProcessingContext().getUser())
-					.withRequestFrom(this.context.update().build()).build();
+					.withRequestFrom(this.context.withCurrentResultStackframe()).build();
 
 			return Set.of(new SEFFInfrastructureCalled(request));
 		}
@@ -330,46 +518,32 @@ public class SeffInterpreter extends SeffSwitch<Set<SEFFInterpreted>> {
 	/**
 	 * An internal action demands certain resources and hence, a
 	 * {@link ResourceDemandRequested} will be returned for each demand specified.
+	 * Multiple demands are joined, see {@link #requestDemands(List)}.
 	 */
 	@Override
 	public Set<SEFFInterpreted> caseInternalAction(final InternalAction internalAction) {
 		LOGGER.debug("Found internal action");
-		final Set<SEFFInterpreted> events = new HashSet<>();
 
-		internalAction.getResourceDemand_Action().forEach(demand -> {
-			LOGGER.debug("Demand found with: " + demand);
-
-			final ResourceDemandRequest request = ResourceDemandRequest.builder()
-					.withAssemblyContext(this.context.getAssemblyContext())
-					.withSeffInterpretationContext(this.context)
-					.withResourceType(ResourceType.ACTIVE).withParametricResourceDemand(demand).build();
-
-			final ResourceDemandRequested requestEvent = new ResourceDemandRequested(request);
-			events.add(requestEvent);
-		});
-
-		if (events.isEmpty()) { // no RD! go straight to Infra calls
-			if (!internalAction.getInfrastructureCall__Action().isEmpty()) {
-				final InfrastructureCallsContextHolder infraContext = new InfrastructureCallsContextHolder(this.context,
-						internalAction, this.context.getBehaviorContext().getCurrentProcessedBehavior());
-
-				final SEFFInterpretationContext infraChildContext = this.context.createChildContext()
-						.withBehaviorContext(infraContext)
-						.withRequestProcessingContext(this.context.getRequestProcessingContext())
-						.withCaller(this.context.getCaller())
-						.withAssemblyContext(this.context.getAssemblyContext())
-						.build();
-
-				events.add(new SEFFInterpretationProgressed(infraChildContext));
-			}
+		if (!internalAction.getResourceDemand_Action().isEmpty()) {
+			final List<ResourceDemandRequest.Builder> requests = new ArrayList<>();
+			internalAction.getResourceDemand_Action().forEach(demand -> {
+				LOGGER.debug("Demand found with: " + demand);
+				requests.add(this.requestFor(demand));
+			});
+			return this.requestDemands(requests);
 		}
 
-		if (events.isEmpty()) { // empty internal action, just progress.
-			events.add(new SEFFInterpretationProgressed(this.context));
+		if (!internalAction.getInfrastructureCall__Action().isEmpty()) { // no RD! go straight to Infra calls
+			final InfrastructureCallsContextHolder infraContext = new InfrastructureCallsContextHolder(this.context,
+					internalAction, this.context.getBehaviorContext().getCurrentProcessedBehavior());
+
+			final SEFFInterpretationContext infraChildContext = this.context.createChild(infraContext);
 
+			return Set.of(new SEFFInterpretationProgressed(infraChildContext));
 		}
 
-		return Collections.unmodifiableSet(events);
+		// empty internal action, just progress.
+		return Set.of(new SEFFInterpretationProgressed(this.context));
 	}
 
 	@Override
@@ -1,12 +1,24 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.systemsimulation.repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.apache.log4j.Logger;
-import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.palladiosimulator.analyzer.slingshot.common.utils.ModelCache;
 import org.palladiosimulator.pcm.core.composition.AssemblyConnector;
 import org.palladiosimulator.pcm.core.composition.AssemblyContext;
 import org.palladiosimulator.pcm.core.composition.AssemblyInfrastructureConnector;
+import org.palladiosimulator.pcm.core.composition.Connector;
 import org.palladiosimulator.pcm.core.composition.ProvidedDelegationConnector;
 import org.palladiosimulator.pcm.repository.BasicComponent;
 import org.palladiosimulator.pcm.repository.OperationProvidedRole;
@@ -32,26 +44,67 @@ public class SystemModelRepositoryImpl implements SystemModelRepository {
 
 	private System systemModel;
 
+	/*
+	 * Indexes over the system model, keyed by the ids of the roles and
+	 * signatures. The lists keep the order of the system model, so that the
+	 * first element is the one that a linear search would have found.
+	 */
+
+	/** Required role → assembly connectors of that required role. */
+	private final Map<String, List<AssemblyConnector>> assemblyConnectorsByRequiredRole = new HashMap<>();
+
+	/** Required role → infrastructure connectors of that required role. */
+	private final Map<String, List<AssemblyInfrastructureConnector>> infrastructureConnectorsByRequiredRole = new HashMap<>();
+
+	/** Outer provided role → delegation connectors of that provided role. */
+	private final Map<String, List<ProvidedDelegationConnector>> delegationConnectorsByOuterRole = new HashMap<>();
+
+	/** Provided role → assembly contexts whose component provides that role. */
+	private final Map<String, List<AssemblyContext>> assemblyContextsByProvidedRole = new HashMap<>();
+
+	/** The provided roles of the system itself. */
+	private final Set<String> systemProvidedRoles = new HashSet<>();
+
+	/**
+	 * Provided role → signature → SEFF of the first assembly context providing
+	 * the role that has a SEFF for the signature. This is filled lazily on
+	 * lookup, cached on the system, and dropped as soon as the system, the
+	 * assembly contexts, their components or the SEFFs of these change.
+	 */
+	private ModelCache<String, Map<String, Optional<ServiceEffectSpecification>>> seffsByProvidedRole;
+
+	/** Keeps the indexes up-to-date when the system model changes. */
+	private final IndexUpdater indexUpdater = new IndexUpdater();
+
 	@Override
 	public void load(final System system) {
+		if (this.systemModel != null) {
+			this.systemModel.eAdapters().remove(this.indexUpdater);
+			this.systemModel.getConnectors__ComposedStructure().forEach(this.indexUpdater::unobserve);
+			this.systemModel.getAssemblyContexts__ComposedStructure().forEach(this.indexUpdater::unobserve);
+		}
 		this.systemModel = system;
+		this.seffsByProvidedRole = ModelCache.of(system, SystemModelRepositoryImpl.class);
+		this.rebuildIndexes();
+		this.systemModel.eAdapters().add(this.indexUpdater);
 	}
 
 	@Override
 	public Optional<ServiceEffectSpecification> findSeffFromRequiredRole(final RequiredRole requiredRole,
 			final Signature signature) {
-		return this.systemModel.getConnectors__ComposedStructure().stream()
-				.filter(connector -> connector instanceof AssemblyConnector)
-				.map(connector -> (AssemblyConnector) connector)
-				.filter(assemblyConnector -> assemblyConnector.getRequiredRole_AssemblyConnector().getId()
-						.equals(requiredRole.getId()))
-				.map(AssemblyConnector::getProvidingAssemblyContext_AssemblyConnector)
-				.map(AssemblyContext::getEncapsulatedComponent__AssemblyContext)
-				.filter(BasicComponent.class::isInstance).map(BasicComponent.class::cast)
-				.map(component -> this.getSeffFromBasicComponent(component, signature)).filter(Optional::isPresent)
-				.map(Optional::get)
-				.findFirst();
-
+		for (final AssemblyConnector connector : this.assemblyConnectorsByRequiredRole
+				.getOrDefault(requiredRole.getId(), Collections.emptyList())) {
+			final RepositoryComponent component = connector.getProvidingAssemblyContext_AssemblyConnector()
+					.getEncapsulatedComponent__AssemblyContext();
+			if (component instanceof BasicComponent) {
+				final Optional<ServiceEffectSpecification> seff = this
+						.getSeffFromBasicComponent((BasicComponent) component, signature);
+				if (seff.isPresent()) {
+					return seff;
+				}
+			}
+		}
+		return Optional.empty();
 	}
 
 	public Optional<AssemblyContext> findAssemblyContextFromRepositoryComponent(final RepositoryComponent component) {
@@ -63,60 +116,33 @@ public class SystemModelRepositoryImpl implements SystemModelRepository {
 
 	@Override
 	public Optional<AssemblyContext> findAssemblyContextFromRequiredRole(final RequiredRole requiredRole) {
-		return this.systemModel.getConnectors__ComposedStructure().stream()
-				.filter(connector -> connector instanceof AssemblyConnector)
-				.map(connector -> (AssemblyConnector) connector)
-				.filter(assemblyConnector -> assemblyConnector.getRequiredRole_AssemblyConnector().getId()
-						.equals(requiredRole.getId()))
-				.map(AssemblyConnector::getProvidingAssemblyContext_AssemblyConnector)
-				.findFirst();
+		return first(this.assemblyConnectorsByRequiredRole, requiredRole.getId())
+				.map(AssemblyConnector::getProvidingAssemblyContext_AssemblyConnector);
 	}
 
 	@Override
 	public Optional<OperationProvidedRole> findProvidedRoleFromRequiredRole(final RequiredRole requiredRole) {
-		return this.systemModel.getConnectors__ComposedStructure().stream()
-				.filter(connector -> connector instanceof AssemblyConnector)
-				.map(connector -> (AssemblyConnector) connector)
-				.filter(assemblyConnector -> assemblyConnector.getRequiredRole_AssemblyConnector().getId()
-						.equals(requiredRole.getId()))
-				.map(AssemblyConnector::getProvidedRole_AssemblyConnector).findFirst();
+		return first(this.assemblyConnectorsByRequiredRole, requiredRole.getId())
+				.map(AssemblyConnector::getProvidedRole_AssemblyConnector);
 	}
 
 	@Override
 	public Optional<AssemblyContext> findInfrastructureAssemblyContextFromRequiredRole(
 			final RequiredRole requiredRole) {
-		return this.systemModel.getConnectors__ComposedStructure().stream()
-				.filter(connector -> connector instanceof AssemblyInfrastructureConnector)
-				.map(connector -> (AssemblyInfrastructureConnector) connector)
-				.filter(assemblyInfraConnector -> assemblyInfraConnector
-						.getRequiredRole__AssemblyInfrastructureConnector().getId().equals(requiredRole.getId()))
-				.map(AssemblyInfrastructureConnector::getProvidingAssemblyContext__AssemblyInfrastructureConnector)
-				.findFirst();
+		return first(this.infrastructureConnectorsByRequiredRole, requiredRole.getId())
+				.map(AssemblyInfrastructureConnector::getProvidingAssemblyContext__AssemblyInfrastructureConnector);
 	}
 
 	@Override
 	public Optional<ProvidedDelegationConnector> getConnectedProvidedDelegationConnector(
 			final ProvidedRole providedRole) {
-
-		final EList<ProvidedRole> roles = this.systemModel.getProvidedRoles_InterfaceProvidingEntity();
-
-		final boolean providedRolePresent = this.systemModel.getProvidedRoles_InterfaceProvidingEntity().stream()
-				.filter(systemProvidedRole -> systemProvidedRole.getId().equals(providedRole.getId()))
-				.findFirst()
-				.isPresent();
-
-		if (!providedRolePresent) {
+		if (!this.systemProvidedRoles.contains(providedRole.getId())) {
 			return Optional.empty();
 		}
 
 		LOGGER.debug("Provided Role is present: " + providedRole.getEntityName());
 
-		return this.systemModel.getConnectors__ComposedStructure().stream()
-				.filter(ProvidedDelegationConnector.class::isInstance)
-				.map(ProvidedDelegationConnector.class::cast)
-				.filter(connector -> connector.getOuterProvidedRole_ProvidedDelegationConnector().getId()
-						.equals(providedRole.getId()))
-				.findFirst();
+		return first(this.delegationConnectorsByOuterRole, providedRole.getId());
 	}
 
 	@Override
@@ -133,44 +159,52 @@ public class SystemModelRepositoryImpl implements SystemModelRepository {
 		LOGGER.debug("Find SEFF: " + role.getEntityName() + " (ProvidedRole) and " + signature.getEntityName()
 				+ " (Signature)");
 
-		LOGGER.debug(
-				"Number of assembly contexts: " + this.systemModel.getAssemblyContexts__ComposedStructure().size());
-
-		return this.systemModel.getAssemblyContexts__ComposedStructure().stream()
-				.map(AssemblyContext::getEncapsulatedComponent__AssemblyContext)
-				.peek(component -> LOGGER.debug("Encapsulated Component: " + component.getEntityName()))
-				.filter(component -> component.getProvidedRoles_InterfaceProvidingEntity().stream()
-						.anyMatch(providedRole -> providedRole.getId().equals(role.getId())))
-				.peek(component -> LOGGER.debug("Found the component: " + component.getEntityName()))
-				.filter(BasicComponent.class::isInstance)
-				.map(BasicComponent.class::cast)
-				.peek(component -> LOGGER.debug("Found the basic component: " + component.getEntityName()))
-				.map(basicComponent -> this.getSeffFromBasicComponent(basicComponent, signature))
-				.filter(Optional::isPresent)
-				.map(Optional::get)
-				.findFirst();
-
+		return this.findSeff(role, signature);
 	}
 
 	@Override
 	public Optional<AssemblyContext> findAssemblyContextByProvidedRole(final ProvidedRole role) {
 		LOGGER.debug("findAssemblyContextByProvidedRole: ProvidedRole[id=" + role.getId() + "]");
-//		return this.systemModel.getConnectors__ComposedStructure().stream()
-//				.filter(AssemblyConnector.class::isInstance)
-//				.map(AssemblyConnector.class::cast)
-//				.peek(connector -> LOGGER
-//						.debug("AssemblyConnector found: " + connector.getProvidedRole_AssemblyConnector().getId()))
-//				.filter(connector -> connector.getProvidedRole_AssemblyConnector().getId().equals(role.getId()))
-//				.map(AssemblyConnector::getProvidingAssemblyContext_AssemblyConnector)
-//				.findFirst();
-		return this.systemModel.getAssemblyContexts__ComposedStructure().stream().filter(
-				context -> this.isProvidedRoleInComponent(context.getEncapsulatedComponent__AssemblyContext(), role))
-				.findFirst();
+		return first(this.assemblyContextsByProvidedRole, role.getId());
 	}
 
-	private boolean isProvidedRoleInComponent(final RepositoryComponent component, final ProvidedRole role) {
-		return component.getProvidedRoles_InterfaceProvidingEntity().stream()
-				.anyMatch(providedRole -> providedRole.getId().equals(role.getId()));
+	/**
+	 * Finds the SEFF of the signature in the first assembly context that provides
+	 * the role and encapsulates a basic component with such a SEFF. The result is
+	 * cached until any of the elements it was found in changes.
+	 *
+	 * @param role      The provided role of an assembly context.
+	 * @param signature The signature at which the SEFF lies.
+	 * @return The SEFF if it exists.
+	 */
+	private Optional<ServiceEffectSpecification> findSeff(final ProvidedRole role, final Signature signature) {
+		Map<String, Optional<ServiceEffectSpecification>> seffsBySignature = this.seffsByProvidedRole
+				.get(role.getId());
+		if (seffsBySignature == null) {
+			seffsBySignature = new HashMap<>();
+			this.seffsByProvidedRole.put(role.getId(), seffsBySignature);
+		}
+
+		Optional<ServiceEffectSpecification> seff = seffsBySignature.get(signature.getId());
+		if (seff == null) {
+			seff = Optional.empty();
+			for (final AssemblyContext context : this.assemblyContextsByProvidedRole.getOrDefault(role.getId(),
+					Collections.emptyList())) {
+				this.seffsByProvidedRole.observe(context);
+				final RepositoryComponent component = context.getEncapsulatedComponent__AssemblyContext();
+				if (component instanceof BasicComponent) {
+					this.seffsByProvidedRole.observe(component);
+					((BasicComponent) component).getServiceEffectSpecifications__BasicComponent()
+							.forEach(this.seffsByProvidedRole::observe);
+					seff = this.getSeffFromBasicComponent((BasicComponent) component, signature);
+					if (seff.isPresent()) {
+						break;
+					}
+				}
+			}
+			seffsBySignature.put(signature.getId(), seff);
+		}
+		return seff;
 	}
 
 	@Override
@@ -196,4 +230,199 @@ public class SystemModelRepositoryImpl implements SystemModelRepository {
 
 	}
 
+
+	private static <T> Optional<T> first(final Map<String, List<T>> index, final String key) {
+		final List<T> values = index.get(key);
+		return values == null || values.isEmpty() ? Optional.empty() : Optional.of(values.get(0));
+	}
+
+	/**
+	 * Returns the id of a referenced role, or {@code null} if the reference is not
+	 * set yet, e.g. while a model adjuster is still creating the connector.
+	 */
+	private static String idOf(final Role role) {
+		return role == null ? null : role.getId();
+	}
+
+	private static <T> void add(final Map<String, List<T>> index, final String key, final T value) {
+		if (key == null) {
+			return;
+		}
+		index.computeIfAbsent(key, k -> new ArrayList<>(1)).add(value);
+	}
+
+	private static <T> void remove(final Map<String, List<T>> index, final String key, final T value) {
+		if (key == null) {
+			return;
+		}
+		final List<T> values = index.get(key);
+		if (values != null) {
+			values.remove(value);
+			if (values.isEmpty()) {
+				index.remove(key);
+			}
+		}
+	}
+
+	private void rebuildIndexes() {
+		this.assemblyConnectorsByRequiredRole.clear();
+		this.infrastructureConnectorsByRequiredRole.clear();
+		this.delegationConnectorsByOuterRole.clear();
+		this.assemblyContextsByProvidedRole.clear();
+		this.systemProvidedRoles.clear();
+		this.seffsByProvidedRole.clear();
+
+		this.systemModel.getConnectors__ComposedStructure().forEach(this::indexConnector);
+		this.systemModel.getAssemblyContexts__ComposedStructure().forEach(this::indexAssemblyContext);
+		this.systemModel.getProvidedRoles_InterfaceProvidingEntity()
+				.forEach(role -> this.systemProvidedRoles.add(role.getId()));
+
+		LOGGER.debug("Indexed system " + this.systemModel.getEntityName() + ": "
+				+ this.systemModel.getConnectors__ComposedStructure().size() + " connectors, "
+				+ this.systemModel.getAssemblyContexts__ComposedStructure().size() + " assembly contexts");
+	}
+
+	private void indexConnector(final Connector connector) {
+		this.indexUpdater.observe(connector);
+		if (connector instanceof AssemblyConnector) {
+			final AssemblyConnector assemblyConnector = (AssemblyConnector) connector;
+			add(this.assemblyConnectorsByRequiredRole, idOf(assemblyConnector.getRequiredRole_AssemblyConnector()),
+					assemblyConnector);
+		} else if (connector instanceof AssemblyInfrastructureConnector) {
+			final AssemblyInfrastructureConnector infraConnector = (AssemblyInfrastructureConnector) connector;
+			add(this.infrastructureConnectorsByRequiredRole,
+					idOf(infraConnector.getRequiredRole__AssemblyInfrastructureConnector()), infraConnector);
+		} else if (connector instanceof ProvidedDelegationConnector) {
+			final ProvidedDelegationConnector delegationConnector = (ProvidedDelegationConnector) connector;
+			add(this.delegationConnectorsByOuterRole,
+					idOf(delegationConnector.getOuterProvidedRole_ProvidedDelegationConnector()),
+					delegationConnector);
+		}
+	}
+
+	private void unindexConnector(final Connector connector) {
+		this.indexUpdater.unobserve(connector);
+		if (connector instanceof AssemblyConnector) {
+			final AssemblyConnector assemblyConnector = (AssemblyConnector) connector;
+			remove(this.assemblyConnectorsByRequiredRole,
+					idOf(assemblyConnector.getRequiredRole_AssemblyConnector()), assemblyConnector);
+		} else if (connector instanceof AssemblyInfrastructureConnector) {
+			final AssemblyInfrastructureConnector infraConnector = (AssemblyInfrastructureConnector) connector;
+			remove(this.infrastructureConnectorsByRequiredRole,
+					idOf(infraConnector.getRequiredRole__AssemblyInfrastructureConnector()), infraConnector);
+		} else if (connector instanceof ProvidedDelegationConnector) {
+			final ProvidedDelegationConnector delegationConnector = (ProvidedDelegationConnector) connector;
+			remove(this.delegationConnectorsByOuterRole,
+					idOf(delegationConnector.getOuterProvidedRole_ProvidedDelegationConnector()),
+					delegationConnector);
+		}
+	}
+
+	private void indexAssemblyContext(final AssemblyContext context) {
+		this.indexUpdater.observe(context);
+		if (context.getEncapsulatedComponent__AssemblyContext() == null) {
+			return;
+		}
+		for (final ProvidedRole role : context.getEncapsulatedComponent__AssemblyContext()
+				.getProvidedRoles_InterfaceProvidingEntity()) {
+			add(this.assemblyContextsByProvidedRole, role.getId(), context);
+		}
+	}
+
+	private void unindexAssemblyContext(final AssemblyContext context) {
+		this.indexUpdater.unobserve(context);
+		if (context.getEncapsulatedComponent__AssemblyContext() == null) {
+			return;
+		}
+		for (final ProvidedRole role : context.getEncapsulatedComponent__AssemblyContext()
+				.getProvidedRoles_InterfaceProvidingEntity()) {
+			remove(this.assemblyContextsByProvidedRole, role.getId(), context);
+		}
+	}
+
+	/**
+	 * Updates the indexes incrementally whenever connectors, assembly contexts or
+	 * provided roles are added to or removed from the system, e.g. by the model
+	 * adjustments announced with {@code ModelAdjusted}. Any other structural
+	 * change of these lists, such as reordering, rebuilds the indexes.
+	 * <p>
+	 * The indexed connectors and assembly contexts are observed as well, as the
+	 * indexes depend on their roles and components. Any change of them rebuilds
+	 * the indexes. Elements are often added before their roles resp. component
+	 * are set; they are observed but left out of the indexes until then.
+	 */
+	private final class IndexUpdater extends AdapterImpl {
+
+		@Override
+		public void notifyChanged(final Notification notification) {
+			if (notification.isTouch()) {
+				return;
+			}
+			if (notification.getNotifier() != SystemModelRepositoryImpl.this.systemModel) {
+				SystemModelRepositoryImpl.this.rebuildIndexes();
+				return;
+			}
+			switch (notification.getEventType()) {
+			case Notification.ADD:
+				this.added(notification.getNewValue());
+				break;
+			case Notification.ADD_MANY:
+				((Collection<?>) notification.getNewValue()).forEach(this::added);
+				break;
+			case Notification.REMOVE:
+				this.removed(notification.getOldValue());
+				break;
+			case Notification.REMOVE_MANY:
+				((Collection<?>) notification.getOldValue()).forEach(this::removed);
+				break;
+			case Notification.SET:
+			case Notification.UNSET:
+			case Notification.MOVE:
+				if (isIndexed(notification.getNewValue()) || isIndexed(notification.getOldValue())) {
+					if (notification.getOldValue() instanceof Notifier) {
+						this.unobserve((Notifier) notification.getOldValue());
+					}
+					SystemModelRepositoryImpl.this.rebuildIndexes();
+				}
+				break;
+			default:
+				break;
+			}
+		}
+
+		private void added(final Object value) {
+			if (value instanceof Connector) {
+				SystemModelRepositoryImpl.this.indexConnector((Connector) value);
+			} else if (value instanceof AssemblyContext) {
+				SystemModelRepositoryImpl.this.indexAssemblyContext((AssemblyContext) value);
+			} else if (value instanceof ProvidedRole) {
+				SystemModelRepositoryImpl.this.systemProvidedRoles.add(((ProvidedRole) value).getId());
+			}
+		}
+
+		private void removed(final Object value) {
+			if (value instanceof Connector) {
+				SystemModelRepositoryImpl.this.unindexConnector((Connector) value);
+			} else if (value instanceof AssemblyContext) {
+				SystemModelRepositoryImpl.this.unindexAssemblyContext((AssemblyContext) value);
+			} else if (value instanceof ProvidedRole) {
+				SystemModelRepositoryImpl.this.systemProvidedRoles.remove(((ProvidedRole) value).getId());
+			}
+		}
+
+		private void observe(final Notifier notifier) {
+			if (!notifier.eAdapters().contains(this)) {
+				notifier.eAdapters().add(this);
+			}
+		}
+
+		private void unobserve(final Notifier notifier) {
+			notifier.eAdapters().remove(this);
+		}
+
+		private boolean isIndexed(final Object value) {
+			return value instanceof Connector || value instanceof AssemblyContext || value instanceof ProvidedRole;
+		}
+	}
+
 }
@@ -1,7 +1,6 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities;
 
-import java.util.UUID;
-
+import org.palladiosimulator.analyzer.slingshot.common.utils.SimulationIdProvider;
 
 import de.uka.ipd.sdq.simucomframework.variables.StackContext;
 
@@ -19,17 +18,37 @@ public class User extends StackContext {
 	 * @generated 
 	 */
 	private static final long serialVersionUID = 1089208332274419571L;
+
+	/**
+	 * Hands out the ids of users that are created without the provider of a
+	 * simulation run. These ids are negated, so that they never collide with the
+	 * positive ids of a run.
+	 */
+	private static final SimulationIdProvider DEFAULT_ID_PROVIDER = new SimulationIdProvider();
 	
 	/** The id of the user. */
-	private final String id;
+	private final long id;
+
+	/** The id rendered as a string, created on demand. */
+	private transient String idString;
 
 	/**
-	 * Constructs the user by creating a new SimulatedStack with a random id and a
-	 * new simulated stack.
+	 * Constructs the user with an id that is unique within the JVM and a new
+	 * simulated stack. Users of a simulation run should rather be created with
+	 * an id of the run's {@link SimulationIdProvider}, see {@link #User(long)}.
 	 */
 	public User() {
+		this(-DEFAULT_ID_PROVIDER.nextId());
+	}
+
+	/**
+	 * Constructs the user with the given id and a new simulated stack.
+	 * 
+	 * @param id The id of the user, unique within the simulation run.
+	 */
+	public User(final long id) {
 		super();
-		this.id = UUID.randomUUID().toString();
+		this.id = id;
 	}
 
 	/**
@@ -38,15 +57,24 @@ public class User extends StackContext {
 	 * @return the id.
 	 */
 	public String getId() {
+		if (this.idString == null) {
+			this.idString = Long.toString(this.id);
+		}
+		return this.idString;
+	}
+
+	/**
+	 * Returns the id of this user as a number.
+	 * 
+	 * @return the id.
+	 */
+	public long getNumericId() {
 		return this.id;
 	}
 
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + ((this.id == null) ? 0 : this.id.hashCode());
-		return result;
+		return Long.hashCode(this.id);
 	}
 
 	@Override
@@ -61,14 +89,7 @@ public class User extends StackContext {
 			return false;
 		}
 		final User other = (User) obj;
-		if (this.id == null) {
-			if (other.id != null) {
-				return false;
-			}
-		} else if (!this.id.equals(other.id)) {
-			return false;
-		}
-		return true;
+		return this.id == other.id;
 	}
 
 	@Override
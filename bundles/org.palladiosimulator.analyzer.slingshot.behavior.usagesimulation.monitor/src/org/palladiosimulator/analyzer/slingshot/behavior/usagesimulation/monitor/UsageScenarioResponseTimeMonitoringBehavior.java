@@ -8,6 +8,7 @@ import javax.inject.Inject;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.entities.scenariobehavior.RootScenarioContext;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.UsageModelPassedElement;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.analyzer.slingshot.common.utils.MonitoredElements;
 import org.palladiosimulator.analyzer.slingshot.core.extension.SimulationBehaviorExtension;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.Subscribe;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.eventcontract.EventCardinality;
@@ -44,11 +45,14 @@ import org.palladiosimulator.probeframework.measurement.RequestContext;
 public class UsageScenarioResponseTimeMonitoringBehavior implements SimulationBehaviorExtension {
 
 	private final IGenericCalculatorFactory calculatorFactory;
+	private final MonitoredElements monitoredElements;
 	private final Map<String, UserProbes> userProbesMap = new HashMap<>();
 
 	@Inject
-	public UsageScenarioResponseTimeMonitoringBehavior(final IGenericCalculatorFactory calculatorFactory) {
+	public UsageScenarioResponseTimeMonitoringBehavior(final IGenericCalculatorFactory calculatorFactory,
+			final MonitoredElements monitoredElements) {
 		this.calculatorFactory = calculatorFactory;
+		this.monitoredElements = monitoredElements;
 	}
 
 	/**
@@ -67,6 +71,7 @@ public class UsageScenarioResponseTimeMonitoringBehavior implements SimulationBe
 			final UsageScenario scenario = ((UsageScenarioReference) measuringPoint).getUsageScenario();
 			final UserProbes userProbes = new UserProbes();
 			this.userProbesMap.put(scenario.getId(), userProbes);
+			this.monitoredElements.watch(UsageModelPassedElement.class, scenario.getId());
 
 			final Calculator calculator = this.calculatorFactory.buildCalculator(
 					MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE, measuringPoint,
@@ -2,8 +2,12 @@ package org.palladiosimulator.analyzer.slingshot.behavior.usagesimulation;
 
 import static org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.eventcontract.EventCardinality.MANY;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -36,18 +40,24 @@ import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.UserW
 import org.palladiosimulator.analyzer.slingshot.behavior.usagesimulation.interpreters.UsageScenarioInterpreter;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagesimulation.repositories.UsageModelRepository;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.analyzer.slingshot.common.utils.ExecutionOptions;
+import org.palladiosimulator.analyzer.slingshot.common.utils.MonitoredElements;
 import org.palladiosimulator.analyzer.slingshot.common.utils.SimulatedStackHelper;
+import org.palladiosimulator.analyzer.slingshot.common.utils.SimulationIdProvider;
+import org.palladiosimulator.analyzer.slingshot.common.utils.StackframeSlots;
+import org.palladiosimulator.analyzer.slingshot.common.utils.SimulationRandom;
 //import org.palladiosimulator.analyzer.slingshot.common.utils.Postconditions;
 import org.palladiosimulator.analyzer.slingshot.core.events.SimulationStarted;
 import org.palladiosimulator.analyzer.slingshot.core.extension.SimulationBehaviorExtension;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.Subscribe;
-import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.eventcontract.EventCardinality;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.eventcontract.OnEvent;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.returntypes.Result;
 import org.palladiosimulator.pcm.core.PCMRandomVariable;
 import org.palladiosimulator.pcm.parameter.VariableUsage;
 import org.palladiosimulator.pcm.usagemodel.AbstractUserAction;
 import org.palladiosimulator.pcm.usagemodel.ClosedWorkload;
+import org.palladiosimulator.pcm.usagemodel.Delay;
+import org.palladiosimulator.pcm.usagemodel.EntryLevelSystemCall;
 import org.palladiosimulator.pcm.usagemodel.OpenWorkload;
 import org.palladiosimulator.pcm.usagemodel.UsageModel;
 import org.palladiosimulator.pcm.usagemodel.UsageScenario;
@@ -66,10 +76,12 @@ import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
  * @author Julijan Katic, Floriment Klinaku
  */
 @OnEvent(when = SimulationStarted.class, then = { UserStarted.class, InterArrivalUserInitiated.class,
+        UserEntryRequested.class, UserFinished.class, UserSlept.class, UserWokeUp.class,
+        InnerScenarioBehaviorInitiated.class, UserInterpretationProgressed.class, UsageScenarioStarted.class,
         UsageModelPassedElement.class }, cardinality = MANY)
 @OnEvent(when = UserStarted.class, then = { UserFinished.class, UserEntryRequested.class, UserSlept.class,
-        UserWokeUp.class, InnerScenarioBehaviorInitiated.class, UsageScenarioStarted.class,
-        UsageModelPassedElement.class }, cardinality = MANY)
+        UserWokeUp.class, InnerScenarioBehaviorInitiated.class, UserInterpretationProgressed.class,
+        UsageScenarioStarted.class, UsageModelPassedElement.class }, cardinality = MANY)
 @OnEvent(when = UserFinished.class, then = { UserStarted.class, InterArrivalUserInitiated.class,
         ClosedWorkloadUserInitiated.class, UsageScenarioFinished.class, UserFinished.class, UserSlept.class,
         UserWokeUp.class, UsageModelPassedElement.class }, cardinality = MANY)
@@ -77,22 +89,35 @@ import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
         ClosedWorkloadUserInitiated.class, UsageScenarioFinished.class, UserFinished.class, UserSlept.class,
         UserWokeUp.class, UsageModelPassedElement.class }, cardinality = MANY)
 @OnEvent(when = UserWokeUp.class, then = { UserFinished.class, UserEntryRequested.class, UserSlept.class,
-        UserWokeUp.class, InnerScenarioBehaviorInitiated.class, UsageModelPassedElement.class }, cardinality = MANY)
+        UserWokeUp.class, InnerScenarioBehaviorInitiated.class, UserInterpretationProgressed.class,
+        UsageModelPassedElement.class }, cardinality = MANY)
 @OnEvent(when = UserRequestFinished.class, then = { UserFinished.class, UserEntryRequested.class, UserSlept.class,
-        UserWokeUp.class, InnerScenarioBehaviorInitiated.class, UsageModelPassedElement.class }, cardinality = MANY)
-@OnEvent(when = InnerScenarioBehaviorInitiated.class, then = { UserInterpretationProgressed.class,
+        UserWokeUp.class, InnerScenarioBehaviorInitiated.class, UserInterpretationProgressed.class,
         UsageModelPassedElement.class }, cardinality = MANY)
-@OnEvent(when = ClosedWorkloadUserInitiated.class, then = { UserStarted.class,
+@OnEvent(when = InnerScenarioBehaviorInitiated.class, then = { UserEntryRequested.class, UserFinished.class,
+        UserSlept.class, UserWokeUp.class, InnerScenarioBehaviorInitiated.class, UserInterpretationProgressed.class,
         UsageModelPassedElement.class }, cardinality = MANY)
-@OnEvent(when = InterArrivalUserInitiated.class, then = { UserFinished.class, UserEntryRequested.class, UserSlept.class,
-        UserWokeUp.class, InnerScenarioBehaviorInitiated.class, UsageScenarioStarted.class,
+@OnEvent(when = ClosedWorkloadUserInitiated.class, then = { UserStarted.class, UserEntryRequested.class,
+        UserFinished.class, UserSlept.class, UserWokeUp.class, InnerScenarioBehaviorInitiated.class,
+        UserInterpretationProgressed.class, UsageScenarioStarted.class, UsageModelPassedElement.class }, cardinality = MANY)
+@OnEvent(when = InterArrivalUserInitiated.class, then = { UserStarted.class, UserFinished.class,
+        UserEntryRequested.class, UserSlept.class, UserWokeUp.class, InnerScenarioBehaviorInitiated.class,
+        UserInterpretationProgressed.class, UsageScenarioStarted.class, InterArrivalUserInitiated.class,
         UsageModelPassedElement.class }, cardinality = MANY)
 @OnEvent(when = UserInterpretationProgressed.class, then = { UserEntryRequested.class, UserFinished.class,
-        UserInterpretationProgressed.class }, cardinality = EventCardinality.SINGLE)
+        UserSlept.class, UserWokeUp.class, InnerScenarioBehaviorInitiated.class, UserInterpretationProgressed.class,
+        UsageModelPassedElement.class }, cardinality = MANY)
 public class UsageSimulationBehavior implements SimulationBehaviorExtension {
 
     private final Logger LOGGER = Logger.getLogger(UsageSimulationBehavior.class);
 
+    /**
+     * The maximum number of zero-time steps that are interpreted within one handler invocation.
+     * Afterwards, the interpretation is continued by events again, so that a (faulty) model without
+     * a blocking point cannot stall the simulation.
+     */
+    private static final int MAX_FUSED_STEPS = 10_000;
+
     private UsageInterpretationContext usageInterpretationContext;
 
     /** The repository for access into the usage model. */
@@ -101,11 +126,36 @@ public class UsageSimulationBehavior implements SimulationBehaviorExtension {
     /** The model to interpret. */
     private final UsageModel usageModel;
 
+    /** Provides the ids of new users. */
+    private final SimulationIdProvider idProvider;
+
+    /** The random stream for choosing branch transitions. */
+    private final SplittableRandom branchingRandom;
+
+    /** Whether zero-time steps are interpreted within one handler invocation. */
+    private final boolean fuseSteps;
+
+    /** The elements watched by probes. */
+    private final MonitoredElements monitoredElements;
+
     @Inject
-    public UsageSimulationBehavior(final UsageModel usageModel, final UsageModelRepository repository) {
+    public UsageSimulationBehavior(final UsageModel usageModel, final UsageModelRepository repository,
+            final SimulationIdProvider idProvider, final SimulationRandom random, final ExecutionOptions options,
+            final MonitoredElements monitoredElements) {
         this.usageModel = usageModel;
         this.usageModelRepository = repository;
+        this.idProvider = idProvider;
+        this.branchingRandom = random.stream(SimulationRandom.BRANCHING);
+        this.fuseSteps = options.fuseUsageSteps();
+        this.monitoredElements = monitoredElements;
         this.init();
+
+        /* Assign the stack frame slots once the models are loaded. */
+        if (options.slotIndexedStackFrames()) {
+            StackframeSlots.install(usageModel);
+        } else {
+            StackframeSlots.uninstall(usageModel);
+        }
     }
 
     public void init() {
@@ -150,7 +200,7 @@ public class UsageSimulationBehavior implements SimulationBehaviorExtension {
         // assert Postconditions.checkResultTypesAndSize(returnedEvents,
         // List.of(UserStarted.class, InterArrivalUserInitiated.class), 2);
 
-        return Result.of(returnedEvents);
+        return Result.of(this.runToBlockingPoint(returnedEvents));
     }
 
     /**
@@ -202,7 +252,7 @@ public class UsageSimulationBehavior implements SimulationBehaviorExtension {
 
         final OpenWorkloadUserInterpretationContext openWorkloadUserInterpretationContext = OpenWorkloadUserInterpretationContext
             .builder()
-            .withUser(new User())
+            .withUser(new User(this.idProvider.nextId()))
             .withScenario(usageScenario)
             .withCurrentAction(firstAction)
             .withInterArrivalTime(new InterArrivalTime(interArrivalRV))
@@ -210,7 +260,8 @@ public class UsageSimulationBehavior implements SimulationBehaviorExtension {
             .build();
 
         final UsageScenarioInterpreter interpreter = new UsageScenarioInterpreter(
-                openWorkloadUserInterpretationContext);
+                openWorkloadUserInterpretationContext, this.idProvider, this.branchingRandom,
+                this.monitoredElements);
 
         final Set<DESEvent> events = interpreter.doSwitch(firstAction);
 
@@ -245,10 +296,12 @@ public class UsageSimulationBehavior implements SimulationBehaviorExtension {
             .withScenario(usageScenario);
 
         for (int i = 0; i < workloadSpec.getPopulation(); i++) {
-            final UserInterpretationContext interpretationContext = partialInterpretationBuilder.withUser(new User())
+            final UserInterpretationContext interpretationContext = partialInterpretationBuilder
+                .withUser(new User(this.idProvider.nextId()))
                 .build();
 
-            final UsageScenarioInterpreter interpreter = new UsageScenarioInterpreter(interpretationContext);
+            final UsageScenarioInterpreter interpreter = new UsageScenarioInterpreter(interpretationContext,
+                    this.idProvider, this.branchingRandom, this.monitoredElements);
             final Set<DESEvent> events = interpreter.doSwitch(firstAction);
 
             returnedEvents.addAll(events);
@@ -262,24 +315,23 @@ public class UsageSimulationBehavior implements SimulationBehaviorExtension {
      */
     @Subscribe
     public Result<DESEvent> onUserStarted(final UserStarted userStarted) {
+        return Result.of(this.runToBlockingPoint(this.startUser(userStarted.getEntity())));
+    }
 
-        userStarted.getEntity()
-            .getUser()
+    private Set<DESEvent> startUser(final UserInterpretationContext context) {
+        context.getUser()
             .getStack()
             .createAndPushNewStackFrame();
 
-        final UsageScenarioInterpreter interpreter = new UsageScenarioInterpreter(userStarted.getEntity());
-        final Set<DESEvent> result = new HashSet<>(interpreter.doSwitch(userStarted.getEntity()
-            .getCurrentAction()));
+        final Set<DESEvent> result = new HashSet<>(this.interpret(context));
 
         /* If we are the root behavior, add this event for monitoring. */
-        if (userStarted.getEntity()
-            .getBehaviorContext()
+        if (context.getBehaviorContext()
             .isRootContext()) {
-            result.add(new UsageScenarioStarted(userStarted.getEntity(), 0));
+            result.add(new UsageScenarioStarted(context, 0));
         }
 
-        return Result.of(result);
+        return result;
     }
 
     /**
@@ -297,7 +349,8 @@ public class UsageSimulationBehavior implements SimulationBehaviorExtension {
             .getEntity();
 
         final UsageScenarioInterpreter interpreter = new UsageScenarioInterpreter(
-                openWorkloadUserInterpretationContext);
+                openWorkloadUserInterpretationContext, this.idProvider, this.branchingRandom,
+                this.monitoredElements);
 
         final AbstractUserAction firstAction = openWorkloadUserInterpretationContext.getCurrentAction();
         // current action is still start, because we have not jet advanced the
@@ -305,7 +358,7 @@ public class UsageSimulationBehavior implements SimulationBehaviorExtension {
 
         final Set<DESEvent> events = interpreter.doSwitch(firstAction);
 
-        return Result.of(events);
+        return Result.of(this.runToBlockingPoint(events));
     }
 
     /**
@@ -439,7 +492,7 @@ public class UsageSimulationBehavior implements SimulationBehaviorExtension {
 
             // new user starts living with an empty stack.
             closedContext = closedContext.update()
-                .withUser(new User())
+                .withUser(new User(this.idProvider.nextId()))
                 .build();
 
             resultSet.add(new ClosedWorkloadUserInitiated(closedContext, closedContext.getThinkTime()));
@@ -464,28 +517,21 @@ public class UsageSimulationBehavior implements SimulationBehaviorExtension {
                 closedWorkloadUserInitiated.getEntity()
                     .update()
                     .withUsageScenarioBehaviorContext(updatedRootScenarioContext)
-                    .build());
+                    .build(), this.idProvider, this.branchingRandom, this.monitoredElements);
 
-        return Result.of(usageScenarioInterpreter.doSwitch(updatedRootScenarioContext.startScenario()));
+        return Result.of(
+                this.runToBlockingPoint(usageScenarioInterpreter.doSwitch(updatedRootScenarioContext.startScenario())));
     }
 
     @Subscribe
     public Result<DESEvent> onInnerScenarioBehaviorInitiated(
             final InnerScenarioBehaviorInitiated innerScenarioBehaviorInitiated) {
-        final UserInterpretationContext userInterpretationContext = innerScenarioBehaviorInitiated.getEntity();
-        final UsageScenarioInterpreter usageScenarioInterpreter = new UsageScenarioInterpreter(
-                userInterpretationContext);
-        final Set<DESEvent> events = usageScenarioInterpreter.doSwitch(userInterpretationContext.getCurrentAction());
-        return Result.of(events);
+        return this.interpretNextAction(innerScenarioBehaviorInitiated.getEntity());
     }
 
     @Subscribe
     public Result<DESEvent> onUserInterpretationProgressed(final UserInterpretationProgressed userProgressed) {
-        final UserInterpretationContext userInterpretationContext = userProgressed.getEntity();
-        final UsageScenarioInterpreter usageScenarioInterpreter = new UsageScenarioInterpreter(
-                userInterpretationContext);
-        final Set<DESEvent> events = usageScenarioInterpreter.doSwitch(userInterpretationContext.getCurrentAction());
-        return Result.of(events);
+        return this.interpretNextAction(userProgressed.getEntity());
     }
 
     /**
@@ -500,7 +546,65 @@ public class UsageSimulationBehavior implements SimulationBehaviorExtension {
      * @return Set of events resulting from the interpretation.
      */
     private Result<DESEvent> interpretNextAction(final UserInterpretationContext context) {
-        final UsageScenarioInterpreter interpreter = new UsageScenarioInterpreter(context);
-        return Result.of(interpreter.doSwitch(context.getCurrentAction()));
+        return Result.of(this.runToBlockingPoint(this.interpret(context)));
+    }
+
+    private Set<DESEvent> interpret(final UserInterpretationContext context) {
+        final UsageScenarioInterpreter interpreter = new UsageScenarioInterpreter(context, this.idProvider,
+                this.branchingRandom, this.monitoredElements);
+        return interpreter.doSwitch(context.getCurrentAction());
+    }
+
+    /**
+     * If fusing is enabled, keeps interpreting zero-time usage steps within this handler invocation
+     * until each user reaches an {@link EntryLevelSystemCall}, a {@link Delay} or the end of its
+     * scenario.
+     * <p>
+     * The {@link UserStarted}, {@link InnerScenarioBehaviorInitiated} and
+     * {@link UserInterpretationProgressed} events without delay are only consumed by this behavior
+     * and are therefore handled directly instead of being scheduled. All other events, in
+     * particular the {@link UsageModelPassedElement} events needed by probes, are still returned.
+     * As the events of different users are independent of each other, each of them is fused on its
+     * own.
+     *
+     * @param events
+     *            The events of the first step.
+     * @return The events to schedule.
+     */
+    private Set<DESEvent> runToBlockingPoint(final Set<DESEvent> events) {
+        if (!this.fuseSteps) {
+            return events;
+        }
+
+        final Set<DESEvent> result = new LinkedHashSet<>();
+        final Deque<DESEvent> pending = new ArrayDeque<>(events);
+        int steps = 0;
+
+        while (!pending.isEmpty()) {
+            final DESEvent event = pending.poll();
+            if (steps < MAX_FUSED_STEPS && isFusable(event)) {
+                steps++;
+                pending.addAll(this.handleFused(event));
+            } else {
+                result.add(event);
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean isFusable(final DESEvent event) {
+        return event.delay() == 0 && (event instanceof UserStarted
+                || event instanceof InnerScenarioBehaviorInitiated || event instanceof UserInterpretationProgressed);
+    }
+
+    private Set<DESEvent> handleFused(final DESEvent event) {
+        if (event instanceof UserStarted) {
+            return this.startUser(((UserStarted) event).getEntity());
+        } else if (event instanceof InnerScenarioBehaviorInitiated) {
+            return this.interpret(((InnerScenarioBehaviorInitiated) event).getEntity());
+        } else {
+            return this.interpret(((UserInterpretationProgressed) event).getEntity());
+        }
     }
 }
@@ -3,6 +3,7 @@ package org.palladiosimulator.analyzer.slingshot.behavior.usagesimulation.interp
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SplittableRandom;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.EList;
@@ -27,7 +28,10 @@ import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.UserS
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.UserStarted;
 import org.palladiosimulator.analyzer.slingshot.behavior.usagemodel.events.UserWokeUp;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.analyzer.slingshot.common.utils.MonitoredElements;
+import org.palladiosimulator.analyzer.slingshot.common.utils.SimulationIdProvider;
 import org.palladiosimulator.analyzer.slingshot.common.utils.TransitionDeterminer;
+import org.palladiosimulator.analyzer.slingshot.common.utils.stoexproxy.CompiledStoEx;
 import org.palladiosimulator.pcm.core.PCMRandomVariable;
 import org.palladiosimulator.pcm.parameter.VariableUsage;
 import org.palladiosimulator.pcm.repository.OperationProvidedRole;
@@ -45,7 +49,6 @@ import org.palladiosimulator.pcm.usagemodel.Stop;
 import org.palladiosimulator.pcm.usagemodel.UsageScenario;
 import org.palladiosimulator.pcm.usagemodel.util.UsagemodelSwitch;
 
-import de.uka.ipd.sdq.simucomframework.variables.StackContext;
 import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
 
 /**
@@ -61,17 +64,47 @@ public class UsageScenarioInterpreter extends UsagemodelSwitch<Set<DESEvent>> {
     /** The context from which the user needs to be interpreted. */
     private final UserInterpretationContext userContext;
 
+    /** Provides the ids of new open workload users. */
+    private final SimulationIdProvider idProvider;
+
+    /** The random stream for choosing branch transitions. */
+    private final SplittableRandom branchingRandom;
+
+    /** The elements for which {@link UsageModelPassedElement} events are emitted. */
+    private final MonitoredElements monitoredElements;
+
     /**
-     * Instantiates the UsageScenarioInterpreter.
+     * Instantiates the UsageScenarioInterpreter outside of a simulation run. New users get ids
+     * that are unique within the JVM, branches are chosen with a freshly seeded random stream, and
+     * every element counts as watched.
      *
-     * @param user
-     *            The user using the system.
      * @param userContext
      *            The context of the user holding further information.
      */
     public UsageScenarioInterpreter(final UserInterpretationContext userContext) {
+        this(userContext, null, new SplittableRandom(), new MonitoredElements());
+    }
+
+    /**
+     * Instantiates the UsageScenarioInterpreter.
+     *
+     * @param userContext
+     *            The context of the user holding further information.
+     * @param idProvider
+     *            The provider for the ids of new users, or {@code null} to use {@link User#User()}.
+     * @param branchingRandom
+     *            The random stream for choosing branch transitions.
+     * @param monitoredElements
+     *            The elements watched by probes.
+     */
+    public UsageScenarioInterpreter(final UserInterpretationContext userContext,
+            final SimulationIdProvider idProvider, final SplittableRandom branchingRandom,
+            final MonitoredElements monitoredElements) {
         super();
         this.userContext = userContext;
+        this.idProvider = idProvider;
+        this.branchingRandom = branchingRandom;
+        this.monitoredElements = monitoredElements;
     }
 
     /**
@@ -84,8 +117,8 @@ public class UsageScenarioInterpreter extends UsagemodelSwitch<Set<DESEvent>> {
      */
     @Override
     public Set<DESEvent> caseLoop(final Loop loop) {
-        final int numberOfLoops = StackContext.evaluateStatic(loop.getLoopIteration_Loop()
-            .getSpecification(), Integer.class);
+        final int numberOfLoops = CompiledStoEx.of(loop.getLoopIteration_Loop(), Integer.class)
+            .evaluate();
         LOGGER.debug("Interpret loop. Maximum loop number: " + numberOfLoops);
         final ScenarioBehaviour bodyBehavior = loop.getBodyBehaviour_Loop();
 
@@ -226,7 +259,7 @@ public class UsageScenarioInterpreter extends UsagemodelSwitch<Set<DESEvent>> {
 
             final OpenWorkloadUserInterpretationContext nextOpenWorkloadUserInterpretationContext = OpenWorkloadUserInterpretationContext
                 .builder()
-                .withUser(new User())
+                .withUser(this.idProvider == null ? new User() : new User(this.idProvider.nextId()))
                 .withScenario(startedScenario)
                 .withCurrentAction(firstAction)
                 .withInterArrivalTime(new InterArrivalTime(interArrivalRV))
@@ -256,7 +289,7 @@ public class UsageScenarioInterpreter extends UsagemodelSwitch<Set<DESEvent>> {
     public Set<DESEvent> caseBranch(final Branch branch) {
         final TransitionDeterminer transitionDeterminer = new TransitionDeterminer(this.userContext.getUser()
             .getStack()
-            .currentStackFrame());
+            .currentStackFrame(), this.branchingRandom);
         final BranchTransition branchTransition = transitionDeterminer
             .determineBranchTransition(branch.getBranchTransitions_Branch());
 
@@ -329,8 +362,8 @@ public class UsageScenarioInterpreter extends UsagemodelSwitch<Set<DESEvent>> {
      */
     @Override
     public Set<DESEvent> caseDelay(final Delay object) {
-        final double delay = StackContext.evaluateStatic(object.getTimeSpecification_Delay()
-            .getSpecification(), Double.class);
+        final double delay = CompiledStoEx.of(object.getTimeSpecification_Delay(), Double.class)
+            .evaluate();
         final UserInterpretationContext updatedUserContext = this.userContext.updateAction(object.getSuccessor());
         return Set.of(new UserSlept(updatedUserContext), new UserWokeUp(updatedUserContext, delay));
     }
@@ -353,7 +386,11 @@ public class UsageScenarioInterpreter extends UsagemodelSwitch<Set<DESEvent>> {
         final Set<DESEvent> result = new HashSet<>();
         final Set<DESEvent> returningEvents = super.doSwitch(eObject);
 
-        result.add(new UsageModelPassedElement<>(eObject, this.userContext));
+        /* Passed elements are only of interest if a probe watches the scenario. */
+        if (this.monitoredElements.isWatched(UsageModelPassedElement.class, this.userContext.getScenario()
+            .getId())) {
+            result.add(new UsageModelPassedElement<>(eObject, this.userContext));
+        }
 
         if (returningEvents != null) {
             result.addAll(returningEvents);
@@ -0,0 +1,132 @@
+package org.palladiosimulator.analyzer.slingshot.common.utils;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A Walker alias table for selecting an index out of a discrete probability
+ * distribution in constant time and without any allocation.
+ * <p>
+ * Tables are built with Vose's method. The probabilities do not have to sum up
+ * to 1, they are normalized on construction.
+ * <p>
+ * Tables for branch transitions are cached on the branch that contains them
+ * (see {@link #of(List, ToDoubleFunction)}) and are rebuilt only if the
+ * branch's transitions or their probabilities change.
+ */
+final class AliasTable {
+
+	/** The probability to keep the column, instead of taking its alias. */
+	private final double[] probability;
+
+	/** The alias of each column. */
+	private final int[] alias;
+
+	AliasTable(final double[] weights) {
+		Preconditions.checkArgument(weights.length > 0, "There must be at least one weight.");
+		final int n = weights.length;
+
+		double sum = 0;
+		for (final double weight : weights) {
+			Preconditions.checkArgument(weight >= 0, "Weights must not be negative.");
+			sum += weight;
+		}
+		Preconditions.checkArgument(sum > 0, "The weights must not sum up to 0.");
+
+		this.probability = new double[n];
+		this.alias = new int[n];
+
+		final double[] scaled = new double[n];
+		final int[] small = new int[n];
+		final int[] large = new int[n];
+		int smallSize = 0;
+		int largeSize = 0;
+
+		for (int i = 0; i < n; i++) {
+			scaled[i] = weights[i] * n / sum;
+			if (scaled[i] < 1.0) {
+				small[smallSize++] = i;
+			} else {
+				large[largeSize++] = i;
+			}
+		}
+
+		while (smallSize > 0 && largeSize > 0) {
+			final int less = small[--smallSize];
+			final int more = large[--largeSize];
+
+			this.probability[less] = scaled[less];
+			this.alias[less] = more;
+
+			scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+			if (scaled[more] < 1.0) {
+				small[smallSize++] = more;
+			} else {
+				large[largeSize++] = more;
+			}
+		}
+
+		/* The remaining columns are full, up to rounding errors. */
+		while (largeSize > 0) {
+			final int index = large[--largeSize];
+			this.probability[index] = 1.0;
+			this.alias[index] = index;
+		}
+		while (smallSize > 0) {
+			final int index = small[--smallSize];
+			this.probability[index] = 1.0;
+			this.alias[index] = index;
+		}
+	}
+
+	/**
+	 * Selects an index with respect to the weights of this table.
+	 *
+	 * @param uniform A uniformly distributed random number in [0, 1).
+	 * @return The selected index.
+	 */
+	int sample(final double uniform) {
+		final double scaled = uniform * this.probability.length;
+		final int column = Math.min((int) scaled, this.probability.length - 1);
+		return scaled - column < this.probability[column] ? column : this.alias[column];
+	}
+
+	/**
+	 * Returns the cached alias table of the given branch transitions. The table is
+	 * cached on the container of the transitions, i.e. the branch, and is rebuilt
+	 * whenever a transition is added or removed, or a probability changes.
+	 *
+	 * @param transitions The transitions of one branch.
+	 * @param probability The function returning a transition's probability.
+	 * @return The alias table, indexed like {@code transitions}.
+	 */
+	static <T extends EObject> AliasTable of(final List<T> transitions, final ToDoubleFunction<T> probability) {
+		final EObject branch = transitions.get(0).eContainer();
+		if (branch == null) {
+			return build(transitions, probability);
+		}
+
+		final ModelCache<EStructuralFeature, AliasTable> cache = ModelCache.of(branch, AliasTable.class);
+		final EStructuralFeature feature = transitions.get(0).eContainingFeature();
+		AliasTable table = cache.get(feature);
+		if (table == null) {
+			table = build(transitions, probability);
+			cache.put(feature, table);
+			transitions.forEach(cache::observe);
+		}
+		return table;
+	}
+
+	private static <T> AliasTable build(final List<T> transitions, final ToDoubleFunction<T> probability) {
+		final double[] weights = new double[transitions.size()];
+		for (int i = 0; i < weights.length; i++) {
+			weights[i] = probability.applyAsDouble(transitions.get(i));
+		}
+		return new AliasTable(weights);
+	}
+}
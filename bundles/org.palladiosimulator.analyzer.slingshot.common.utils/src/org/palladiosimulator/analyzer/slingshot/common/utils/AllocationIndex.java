@@ -0,0 +1,133 @@
+package org.palladiosimulator.analyzer.slingshot.common.utils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.palladiosimulator.pcm.allocation.Allocation;
+import org.palladiosimulator.pcm.allocation.AllocationContext;
+import org.palladiosimulator.pcm.core.composition.AssemblyContext;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
+
+/**
+ * Finds the allocation context, and thereby the resource container, of an
+ * assembly context without scanning the allocation.
+ * <p>
+ * The allocation contexts are indexed by the id of their assembly context. The
+ * index is built once and shared by all behaviors of a simulation run. It is
+ * kept up to date by {@link #addAllocationContexts(Collection)} and
+ * {@link #removeResourceContainer(ResourceContainer)} whenever the model is
+ * adjusted. Entries that are not part of the allocation anymore are detected on
+ * lookup and replaced by a scan over the allocation. The resource container is
+ * always read from the allocation context itself, so that reallocations are
+ * taken into account.
+ */
+@Singleton
+public final class AllocationIndex {
+
+	private final Allocation allocation;
+
+	/** Maps the id of an assembly context to its allocation context. */
+	private final Map<String, AllocationContext> allocationContextsByAssemblyId = new HashMap<>();
+
+	@Inject
+	public AllocationIndex(final Allocation allocation) {
+		this.allocation = allocation;
+		this.addAllocationContexts(allocation.getAllocationContexts_Allocation());
+	}
+
+	/**
+	 * Finds the allocation context of an assembly context.
+	 *
+	 * @param assemblyContext The assembly context to look for.
+	 * @return The allocation context of {@code assemblyContext}, or an empty
+	 *         Optional if it is not allocated.
+	 */
+	public Optional<AllocationContext> findAllocationContext(final AssemblyContext assemblyContext) {
+		final String assemblyId = assemblyContext.getId();
+		final AllocationContext indexed = this.allocationContextsByAssemblyId.get(assemblyId);
+		if (indexed != null && this.isAllocated(indexed, assemblyId)) {
+			return Optional.of(indexed);
+		}
+
+		final Optional<AllocationContext> found = this.allocation.getAllocationContexts_Allocation().stream()
+				.filter(candidate -> candidate.getAssemblyContext_AllocationContext() != null
+						&& assemblyId.equals(candidate.getAssemblyContext_AllocationContext().getId()))
+				.findFirst();
+
+		if (found.isPresent()) {
+			this.allocationContextsByAssemblyId.put(assemblyId, found.get());
+		} else {
+			this.allocationContextsByAssemblyId.remove(assemblyId);
+		}
+		return found;
+	}
+
+	/**
+	 * Finds the resource container an assembly context is allocated to.
+	 *
+	 * @param assemblyContext The assembly context to look for.
+	 * @return The resource container, or an empty Optional if the assembly context
+	 *         is not allocated.
+	 */
+	public Optional<ResourceContainer> findResourceContainer(final AssemblyContext assemblyContext) {
+		return this.findAllocationContext(assemblyContext)
+				.map(AllocationContext::getResourceContainer_AllocationContext);
+	}
+
+	/**
+	 * Checks whether both assembly contexts are allocated on the same resource
+	 * container, so that a call between them does not need to go over the wire.
+	 *
+	 * @param from The assembly context of the caller.
+	 * @param to   The assembly context of the callee.
+	 * @return true iff both are allocated, and on the same resource container.
+	 */
+	public boolean areCoLocated(final AssemblyContext from, final AssemblyContext to) {
+		final Optional<ResourceContainer> fromContainer = this.findResourceContainer(from);
+		if (fromContainer.isEmpty()) {
+			return false;
+		}
+		final Optional<ResourceContainer> toContainer = this.findResourceContainer(to);
+		return toContainer.isPresent() && fromContainer.get().getId().equals(toContainer.get().getId());
+	}
+
+	/**
+	 * Adds new allocation contexts to the index.
+	 *
+	 * @param allocationContexts The allocation contexts to add.
+	 */
+	public void addAllocationContexts(final Collection<AllocationContext> allocationContexts) {
+		allocationContexts.stream()
+				.filter(allocationContext -> allocationContext.getAssemblyContext_AllocationContext() != null)
+				.forEach(allocationContext -> this.allocationContextsByAssemblyId
+						.put(allocationContext.getAssemblyContext_AllocationContext().getId(), allocationContext));
+	}
+
+	/**
+	 * Removes all allocation contexts from the index that allocate to the deleted
+	 * resource container.
+	 *
+	 * @param resourceContainer The deleted resource container.
+	 */
+	public void removeResourceContainer(final ResourceContainer resourceContainer) {
+		this.allocationContextsByAssemblyId.values()
+				.removeIf(allocationContext -> allocationContext.getResourceContainer_AllocationContext() == null
+						|| allocationContext.getResourceContainer_AllocationContext().getId()
+								.equals(resourceContainer.getId()));
+	}
+
+	/**
+	 * Checks whether the indexed allocation context is still part of the
+	 * allocation and still allocates the assembly context.
+	 */
+	private boolean isAllocated(final AllocationContext allocationContext, final String assemblyId) {
+		return allocationContext.eContainer() == this.allocation
+				&& allocationContext.getAssemblyContext_AllocationContext() != null
+				&& assemblyId.equals(allocationContext.getAssemblyContext_AllocationContext().getId());
+	}
+}
@@ -0,0 +1,126 @@
+package org.palladiosimulator.analyzer.slingshot.common.utils;
+
+import java.util.ArrayList;
+import java.util.Map.Entry;
+
+import de.uka.ipd.sdq.simucomframework.variables.exceptions.ValueNotInFrameException;
+import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
+
+/**
+ * A stack frame whose copies are taken lazily.
+ * <p>
+ * {@link #copyFrame()} does not copy the contents, but returns a read-through
+ * snapshot of this frame in constant time. All copies taken between two
+ * modifications share the same snapshot. Only if this frame is modified while a
+ * snapshot is still in use, the snapshot receives a real copy of the previous
+ * contents, once. Likewise, a snapshot that is modified itself first takes a
+ * real copy.
+ * <p>
+ * Copies are mostly taken for capturing the context of an
+ * {@code EvaluationProxy}, which only looks up values. Frames with a parent
+ * frame are copied eagerly, as modifications of the parent could not be
+ * detected.
+ */
+public final class CopyOnWriteStackframe extends SimulatedStackframe<Object> {
+
+	private final boolean hasParent;
+
+	/** The snapshot shared by all copies since the last modification, if any. */
+	private Snapshot snapshot;
+
+	public CopyOnWriteStackframe() {
+		super();
+		this.hasParent = false;
+	}
+
+	/**
+	 * @param parent The parent frame, or {@code null}.
+	 */
+	public CopyOnWriteStackframe(final SimulatedStackframe<Object> parent) {
+		super(parent);
+		this.hasParent = parent != null;
+	}
+
+	@Override
+	public void addValue(final String id, final Object value) {
+		if (this.snapshot != null) {
+			this.release(this.snapshot);
+		}
+		super.addValue(id, value);
+	}
+
+	@Override
+	public SimulatedStackframe<Object> copyFrame() {
+		if (this.hasParent) {
+			return super.copyFrame();
+		}
+		if (this.snapshot == null) {
+			this.snapshot = new Snapshot(this);
+		}
+		return this.snapshot;
+	}
+
+	/**
+	 * Hands a real copy of the current contents to the snapshot, which from then
+	 * on does not depend on this frame anymore.
+	 */
+	private void release(final Snapshot released) {
+		if (this.snapshot == released) {
+			this.snapshot = null;
+		}
+		released.freeze(super.copyFrame());
+	}
+
+	/**
+	 * A copy of a {@link CopyOnWriteStackframe}. While attached, it reads through
+	 * to the frame it was taken from. Once either of them is modified, it holds a
+	 * real copy of its own. Its inherited storage is never used, so all reading
+	 * methods are delegated.
+	 */
+	private static final class Snapshot extends SimulatedStackframe<Object> {
+
+		/** The frame this is a snapshot of, while it has not been modified. */
+		private CopyOnWriteStackframe source;
+
+		/** The own copy of the contents, once detached. */
+		private SimulatedStackframe<Object> frozen;
+
+		private Snapshot(final CopyOnWriteStackframe source) {
+			this.source = source;
+		}
+
+		private void freeze(final SimulatedStackframe<Object> copy) {
+			this.source = null;
+			this.frozen = copy;
+		}
+
+		@Override
+		public Object getValue(final String id) throws ValueNotInFrameException {
+			return this.source != null ? this.source.getValue(id) : this.frozen.getValue(id);
+		}
+
+		@Override
+		public void addValue(final String id, final Object value) {
+			if (this.source != null) {
+				this.source.release(this);
+			}
+			this.frozen.addValue(id, value);
+		}
+
+		@Override
+		public ArrayList<Entry<String, Object>> getContents() {
+			return this.source != null ? this.source.getContents() : this.frozen.getContents();
+		}
+
+		@Override
+		public SimulatedStackframe<Object> copyFrame() {
+			/* An attached snapshot cannot change without being detached first. */
+			return this.source != null ? this : this.frozen.copyFrame();
+		}
+
+		@Override
+		public String toString() {
+			return this.source != null ? this.source.toString() : this.frozen.toString();
+		}
+	}
+}
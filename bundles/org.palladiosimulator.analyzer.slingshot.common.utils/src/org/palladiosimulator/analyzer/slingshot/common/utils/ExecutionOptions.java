@@ -0,0 +1,193 @@
+package org.palladiosimulator.analyzer.slingshot.common.utils;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.apache.log4j.Logger;
+
+import de.uka.ipd.sdq.simucomframework.SimuComConfig;
+
+/**
+ * Optional execution modes of the simulation. Most modes do not change the
+ * simulated behavior, but how it is executed. All modes are disabled by
+ * default.
+ * <p>
+ * Each mode is enabled by setting the corresponding system property to
+ * {@code true}, e.g. {@code -D}{@value #FUSE_SEFF_STEPS}{@code =true}. The
+ * properties are read once per simulation run: the options depend on the
+ * {@link SimuComConfig}, which is only bound in the injector of a simulation
+ * run, so that Guice creates them in that injector, like
+ * {@link SimulationRandom}.
+ */
+@Singleton
+public final class ExecutionOptions {
+
+	private static final Logger LOGGER = Logger.getLogger(ExecutionOptions.class);
+
+	private static final String PREFIX = "org.palladiosimulator.analyzer.slingshot.";
+
+	/**
+	 * Interpret consecutive zero-time SEFF steps within one event handler
+	 * invocation.
+	 */
+	public static final String FUSE_SEFF_STEPS = PREFIX + "fuseSeffSteps";
+
+	/**
+	 * Interpret consecutive zero-time usage model steps within one event handler
+	 * invocation.
+	 */
+	public static final String FUSE_USAGE_STEPS = PREFIX + "fuseUsageSteps";
+
+	/**
+	 * Emit events that only exist for monitoring solely for the elements that a
+	 * probe watches, see {@link MonitoredElements}.
+	 */
+	public static final String EMIT_MONITORED_EVENTS_ONLY = PREFIX + "emitMonitoredEventsOnly";
+
+	/**
+	 * Collapse SEFF loops over internal actions into one aggregated demand per
+	 * resource type.
+	 */
+	public static final String COLLAPSE_INTERNAL_LOOPS = PREFIX + "collapseInternalLoops";
+
+	/**
+	 * Interpret the behaviors of a fork action independently of each other, each
+	 * in a context of its own, instead of round-robin in a shared context.
+	 */
+	public static final String INDEPENDENT_FORK_BRANCHES = PREFIX + "independentForkBranches";
+
+	/**
+	 * Process the resource demands of an internal action one after another instead
+	 * of in parallel. This changes the simulated behavior.
+	 */
+	public static final String SEQUENTIAL_RESOURCE_DEMANDS = PREFIX + "sequentialResourceDemands";
+
+	/**
+	 * Store the values of stack frames in arrays indexed by slots that are
+	 * assigned to the variable characterisations when the models are loaded, see
+	 * {@link StackframeSlots}.
+	 */
+	public static final String SLOT_INDEXED_STACK_FRAMES = PREFIX + "slotIndexedStackFrames";
+
+	/**
+	 * Reuse the behavior wrappers of SEFF interpretation contexts once the user
+	 * request they belong to has finished.
+	 */
+	public static final String RECYCLE_BEHAVIOR_CONTEXTS = PREFIX + "recycleBehaviorContexts";
+
+	/**
+	 * Like {@link #RECYCLE_BEHAVIOR_CONTEXTS}, but never reuse released behavior
+	 * wrappers, so that any use after release fails. Meant for debugging.
+	 */
+	public static final String CHECK_RECYCLED_BEHAVIOR_CONTEXTS = PREFIX + "checkRecycledBehaviorContexts";
+
+	private final boolean fuseSeffSteps;
+	private final boolean fuseUsageSteps;
+	private final boolean emitMonitoredEventsOnly;
+	private final boolean collapseInternalLoops;
+	private final boolean independentForkBranches;
+	private final boolean sequentialResourceDemands;
+	private final boolean slotIndexedStackFrames;
+	private final boolean recycleBehaviorContexts;
+	private final boolean checkRecycledBehaviorContexts;
+
+	@Inject
+	public ExecutionOptions(final SimuComConfig config) {
+		this();
+	}
+
+	/**
+	 * Reads the options without binding them to a simulation run.
+	 */
+	public ExecutionOptions() {
+		this.fuseSeffSteps = isEnabled(FUSE_SEFF_STEPS);
+		this.fuseUsageSteps = isEnabled(FUSE_USAGE_STEPS);
+		this.emitMonitoredEventsOnly = isEnabled(EMIT_MONITORED_EVENTS_ONLY);
+		this.collapseInternalLoops = isEnabled(COLLAPSE_INTERNAL_LOOPS);
+		this.independentForkBranches = isEnabled(INDEPENDENT_FORK_BRANCHES);
+		this.sequentialResourceDemands = isEnabled(SEQUENTIAL_RESOURCE_DEMANDS);
+		this.slotIndexedStackFrames = isEnabled(SLOT_INDEXED_STACK_FRAMES);
+		this.recycleBehaviorContexts = isEnabled(RECYCLE_BEHAVIOR_CONTEXTS);
+		this.checkRecycledBehaviorContexts = isEnabled(CHECK_RECYCLED_BEHAVIOR_CONTEXTS);
+	}
+
+	/**
+	 * @return true iff consecutive zero-time SEFF steps should be interpreted
+	 *         within one event handler invocation.
+	 */
+	public boolean fuseSeffSteps() {
+		return this.fuseSeffSteps;
+	}
+
+	/**
+	 * @return true iff consecutive zero-time usage model steps should be
+	 *         interpreted within one event handler invocation.
+	 */
+	public boolean fuseUsageSteps() {
+		return this.fuseUsageSteps;
+	}
+
+	/**
+	 * @return true iff monitoring events should only be emitted for watched
+	 *         elements.
+	 */
+	public boolean emitMonitoredEventsOnly() {
+		return this.emitMonitoredEventsOnly;
+	}
+
+	/**
+	 * @return true iff SEFF loops over internal actions should be collapsed into
+	 *         aggregated demands.
+	 */
+	public boolean collapseInternalLoops() {
+		return this.collapseInternalLoops;
+	}
+
+	/**
+	 * @return true iff the behaviors of a fork action should be interpreted
+	 *         independently of each other.
+	 */
+	public boolean independentForkBranches() {
+		return this.independentForkBranches;
+	}
+
+	/**
+	 * @return true iff the resource demands of an internal action should be
+	 *         processed one after another.
+	 */
+	public boolean sequentialResourceDemands() {
+		return this.sequentialResourceDemands;
+	}
+
+	/**
+	 * @return true iff stack frames should store their values in slot-indexed
+	 *         arrays.
+	 */
+	public boolean slotIndexedStackFrames() {
+		return this.slotIndexedStackFrames;
+	}
+
+	/**
+	 * @return true iff behavior wrappers of finished requests should be
+	 *         recycled, including the checking mode.
+	 */
+	public boolean recycleBehaviorContexts() {
+		return this.recycleBehaviorContexts || this.checkRecycledBehaviorContexts;
+	}
+
+	/**
+	 * @return true iff released behavior wrappers should never be reused, so that
+	 *         any use after release is detected.
+	 */
+	public boolean checkRecycledBehaviorContexts() {
+		return this.checkRecycledBehaviorContexts;
+	}
+
+	private static boolean isEnabled(final String option) {
+		final boolean enabled = Boolean.getBoolean(option);
+		if (enabled) {
+			LOGGER.info("Execution option enabled: " + option);
+		}
+		return enabled;
+	}
+}
@@ -0,0 +1,131 @@
+package org.palladiosimulator.analyzer.slingshot.common.utils;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Results that are derived from model elements and cached on one of them, the
+ * owner of the cache.
+ * <p>
+ * The cache observes the elements its results were computed from, see
+ * {@link #observe(Notifier)} and {@link #observeTree(EObject)}, and drops all
+ * results on any change of one of them. Elements added to an observed tree
+ * later are only observed once they are passed to the cache again, which
+ * callers therefore do whenever they compute a result into an empty cache.
+ * <p>
+ * Each cache is identified by its owner and a type, so that an element may
+ * carry several caches, and may be observed by caches of other owners, without
+ * them being mixed up.
+ *
+ * @param <K> The type of the keys of the results.
+ * @param <V> The type of the results.
+ */
+public final class ModelCache<K, V> extends AdapterImpl {
+
+	private final Notifier owner;
+	private final Object type;
+
+	private final Map<K, V> results = new HashMap<>(2);
+
+	private ModelCache(final Notifier owner, final Object type) {
+		this.owner = owner;
+		this.type = type;
+	}
+
+	/**
+	 * Returns the cache of the given type owned by the element, and creates it if
+	 * there is none yet. The owner is always observed.
+	 *
+	 * @param owner The element that holds the cache.
+	 * @param type  The type of the cache, typically the class that uses it.
+	 * @return The cache.
+	 */
+	public static <K, V> ModelCache<K, V> of(final Notifier owner, final Object type) {
+		for (final Adapter adapter : owner.eAdapters()) {
+			if (adapter instanceof final ModelCache<?, ?> cache && cache.owner == owner && cache.type == type) {
+				@SuppressWarnings("unchecked")
+				final ModelCache<K, V> result = (ModelCache<K, V>) cache;
+				return result;
+			}
+		}
+		final ModelCache<K, V> cache = new ModelCache<>(owner, type);
+		owner.eAdapters().add(cache);
+		return cache;
+	}
+
+	/**
+	 * @param key The key of the result.
+	 * @return The cached result, or {@code null} if there is none.
+	 */
+	public V get(final K key) {
+		return this.results.get(key);
+	}
+
+	/**
+	 * Caches a result.
+	 *
+	 * @param key   The key of the result.
+	 * @param value The result.
+	 */
+	public void put(final K key, final V value) {
+		this.results.put(key, value);
+	}
+
+	/**
+	 * @return true iff no result is cached.
+	 */
+	public boolean isEmpty() {
+		return this.results.isEmpty();
+	}
+
+	/**
+	 * Drops all results.
+	 */
+	public void clear() {
+		this.results.clear();
+	}
+
+	/**
+	 * Drops all results whenever the element changes.
+	 *
+	 * @param notifier The element a result was computed from.
+	 */
+	public void observe(final Notifier notifier) {
+		if (!notifier.eAdapters().contains(this)) {
+			notifier.eAdapters().add(this);
+		}
+	}
+
+	/**
+	 * Drops all results whenever the element or anything it contains changes.
+	 *
+	 * @param element The root of the elements a result was computed from.
+	 */
+	public void observeTree(final EObject element) {
+		this.observe(element);
+		final Iterator<EObject> contents = EcoreUtil.getAllProperContents(element, false);
+		while (contents.hasNext()) {
+			this.observe(contents.next());
+		}
+	}
+
+	@Override
+	public void notifyChanged(final Notification notification) {
+		if (!notification.isTouch()) {
+			this.results.clear();
+		}
+	}
+
+	@Override
+	public boolean isAdapterForType(final Object type) {
+		return type == this.type;
+	}
+}
@@ -0,0 +1,104 @@
+package org.palladiosimulator.analyzer.slingshot.common.utils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Keeps track of the model elements that are actually observed by a probe.
+ * <p>
+ * Some events, such as the model-passed events of the interpreters or the state
+ * updates of active resources, only exist for monitoring. Monitor behaviors
+ * declare up front, per event type, the ids of the elements they watch
+ * (typically while visiting the measurement specifications). Emitters ask
+ * {@link #isWatched(Class, String)} before creating such an event.
+ * <p>
+ * Subscribers that need an event type for every element, and not only for the
+ * watched ones, declare this with {@link #watchAll(Class)}.
+ * <p>
+ * Unless the option {@link ExecutionOptions#EMIT_MONITORED_EVENTS_ONLY} is
+ * enabled, every element counts as watched, so that extensions that do not
+ * declare their interest still receive all events.
+ * <p>
+ * The declared interests belong to one simulation run. As the instance depends
+ * on the {@link ExecutionOptions} of the run, Guice creates one per run in the
+ * injector of that run. It is not thread-safe and must only be used by the
+ * simulation it belongs to.
+ */
+@Singleton
+public final class MonitoredElements {
+
+	private static final Logger LOGGER = Logger.getLogger(MonitoredElements.class);
+
+	private final boolean filter;
+
+	private final Map<Class<?>, Set<String>> watched = new HashMap<>();
+	private final Set<Class<?>> watchedEntirely = new HashSet<>();
+
+	@Inject
+	public MonitoredElements(final ExecutionOptions options) {
+		this.filter = options.emitMonitoredEventsOnly();
+	}
+
+	/**
+	 * Creates an instance that is not bound to a simulation run and regards every
+	 * element as watched.
+	 */
+	public MonitoredElements() {
+		this.filter = false;
+	}
+
+	/**
+	 * Declares that events of the given type are needed for the element.
+	 *
+	 * @param eventType The type of the event.
+	 * @param elementId The id of the watched model element.
+	 */
+	public void watch(final Class<?> eventType, final String elementId) {
+		LOGGER.debug("Watching " + eventType.getSimpleName() + " of element " + elementId);
+		this.watched.computeIfAbsent(eventType, type -> new HashSet<>()).add(elementId);
+	}
+
+	/**
+	 * Declares that events of the given type are needed for all elements.
+	 *
+	 * @param eventType The type of the event.
+	 */
+	public void watchAll(final Class<?> eventType) {
+		this.watchedEntirely.add(eventType);
+	}
+
+	/**
+	 * @param eventType The type of the event.
+	 * @param elementId The id of the model element the event would be about.
+	 * @return true iff an event of the type must be emitted for the element.
+	 */
+	public boolean isWatched(final Class<?> eventType, final String elementId) {
+		if (!this.filter) {
+			return true;
+		}
+		return this.hasWatcher(eventType, elementId);
+	}
+
+	/**
+	 * In contrast to {@link #isWatched(Class, String)}, this only considers the
+	 * declared interests, regardless of whether events are filtered.
+	 *
+	 * @param eventType The type of the event.
+	 * @param elementId The id of the model element.
+	 * @return true iff a probe declared that it watches the element.
+	 */
+	public boolean hasWatcher(final Class<?> eventType, final String elementId) {
+		if (this.watchedEntirely.contains(eventType)) {
+			return true;
+		}
+		final Set<String> elements = this.watched.get(eventType);
+		return elements != null && elements.contains(elementId);
+	}
+}
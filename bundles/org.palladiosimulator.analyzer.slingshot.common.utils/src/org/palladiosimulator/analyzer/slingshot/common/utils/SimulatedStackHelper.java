@@ -1,18 +1,13 @@
 package org.palladiosimulator.analyzer.slingshot.common.utils;
 
-import java.io.NotSerializableException;
 import java.util.Map;
 import java.util.Map.Entry;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.EList;
-import org.palladiosimulator.pcm.core.PCMRandomVariable;
-import org.palladiosimulator.pcm.parameter.VariableCharacterisation;
 import org.palladiosimulator.pcm.parameter.VariableUsage;
 import org.palladiosimulator.pcm.stoex.api.StoExSerialiser;
 
-import de.uka.ipd.sdq.simucomframework.variables.EvaluationProxy;
-import de.uka.ipd.sdq.simucomframework.variables.StackContext;
 import de.uka.ipd.sdq.simucomframework.variables.exceptions.ValueNotInFrameException;
 import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStack;
 import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
@@ -34,8 +29,24 @@ public class SimulatedStackHelper {
 	private static final Logger LOGGER = Logger.getLogger(SimulatedStackHelper.class);
 	protected static final StoExSerialiser STOEX_SERIALISER = StoExSerialiser.createInstance();
 
+	/** The switch is stateless, so it can be shared by all calls. */
+	private static final StoexSwitch<Boolean> INNER_REFERENCE = new StoexSwitch<>() {
+		@Override
+		public Boolean caseVariableReference(final VariableReference object) {
+			return object.getReferenceName().equals("INNER");
+		}
+
+		@Override
+		public Boolean caseNamespaceReference(final NamespaceReference object) {
+			return object.getReferenceName().equals("INNER")
+					|| this.doSwitch(object.getInnerReference_NamespaceReference());
+		}
+	};
+
 	/**
-	 * Adds parameters to given stack frame.
+	 * Adds parameters to given stack frame. The bindings of the parameters are
+	 * precomputed once per list of variable usages, see
+	 * {@link VariableBindingPlan}.
 	 * 
 	 * @param contextStackFrame
 	 * @param parameter
@@ -43,37 +54,16 @@ public class SimulatedStackHelper {
 	 */
 	public static final void addParameterToStackFrame(final SimulatedStackframe<Object> contextStackFrame,
 			final EList<VariableUsage> parameter, final SimulatedStackframe<Object> targetStackFrame) {
-		for (final VariableUsage variableUsage : parameter) {
-			for (final VariableCharacterisation variableCharacterisation : variableUsage
-					.getVariableCharacterisation_VariableUsage()) {
+		final VariableBindingPlan plan = VariableBindingPlan.of(parameter);
+		plan.bind(contextStackFrame, targetStackFrame);
 
-				final PCMRandomVariable randomVariable = variableCharacterisation
-						.getSpecification_VariableCharacterisation();
-				final AbstractNamedReference namedReference = variableCharacterisation
-						.getVariableUsage_VariableCharacterisation().getNamedReference__VariableUsage();
-				final String id;
+		if (LOGGER.isDebugEnabled()) {
+			for (final String id : plan.getKeys()) {
 				try {
-					id = STOEX_SERIALISER.serialise(namedReference) + "."
-							+ variableCharacterisation.getType().getLiteral();
-				} catch (final NotSerializableException e) {
-					throw new RuntimeException("Could not serialize reference name.", e);
-				}
-
-				if (SimulatedStackHelper.isInnerReference(namedReference)) {
-					targetStackFrame.addValue(id,
-							new EvaluationProxy(randomVariable.getSpecification(), contextStackFrame.copyFrame()));
-				} else {
-					targetStackFrame.addValue(id,
-							StackContext.evaluateStatic(randomVariable.getSpecification(), contextStackFrame));
-				}
-
-				if (LOGGER.isDebugEnabled()) {
-					try {
-						LOGGER.debug("Added value " + targetStackFrame.getValue(id) + " for id " + id
-								+ " to stackframe " + targetStackFrame);
-					} catch (final ValueNotInFrameException e) {
-						throw new RuntimeException(e);
-					}
+					LOGGER.debug("Added value " + targetStackFrame.getValue(id) + " for id " + id + " to stackframe "
+							+ targetStackFrame);
+				} catch (final ValueNotInFrameException e) {
+					throw new RuntimeException(e);
 				}
 			}
 		}
@@ -88,20 +78,7 @@ public class SimulatedStackHelper {
 	 * @return true iff the reference's name is "INNER"; false otherwise.
 	 */
 	public static boolean isInnerReference(final AbstractNamedReference reference) {
-		final StoexSwitch<Boolean> stoexSwitch = new StoexSwitch<>() {
-			@Override
-			public Boolean caseVariableReference(final VariableReference object) {
-				return object.getReferenceName().equals("INNER");
-			}
-
-			@Override
-			public Boolean caseNamespaceReference(final NamespaceReference object) {
-				return object.getReferenceName().equals("INNER")
-						|| this.doSwitch(object.getInnerReference_NamespaceReference());
-			}
-		};
-
-		return stoexSwitch.doSwitch(reference);
+		return INNER_REFERENCE.doSwitch(reference);
 	}
 
 	/**
@@ -120,7 +97,10 @@ public class SimulatedStackHelper {
 	/**
 	 * Convenience method creating new stack frame with parent, adds it to stack and
 	 * puts parameters into frame. This method uses own stack for parameter
-	 * evaluation.
+	 * evaluation. The frame is a {@link CopyOnWriteStackframe}, so capturing it
+	 * for INNER characterisations of later calls does not copy it, or a
+	 * {@link SlottedStackframe} if {@link StackframeSlots} are installed for the
+	 * models of the parameters.
 	 * 
 	 * @param stack
 	 * @param parameter
@@ -129,12 +109,9 @@ public class SimulatedStackHelper {
 	 */
 	public static SimulatedStackframe<Object> createAndPushNewStackFrame(final SimulatedStack<Object> stack,
 			final EList<VariableUsage> parameter, final SimulatedStackframe<Object> parent) {
-		final SimulatedStackframe<Object> stackFrame;
-		if (parent == null) {
-			stackFrame = new SimulatedStackframe<Object>();
-		} else {
-			stackFrame = new SimulatedStackframe<Object>(parent);
-		}
+		final StackframeSlots slots = StackframeSlots.of(parameter);
+		final SimulatedStackframe<Object> stackFrame = slots == null ? new CopyOnWriteStackframe(parent)
+				: new SlottedStackframe(slots, parent);
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("Added new stack frame: " + stackFrame);
 		}
@@ -151,7 +128,7 @@ public class SimulatedStackHelper {
 	 * @return the created stack frame.
 	 */
 	public static final SimulatedStackframe<Object> createFromMap(final Map<String, Object> map) {
-		final SimulatedStackframe<Object> resultFrame = new SimulatedStackframe<Object>();
+		final SimulatedStackframe<Object> resultFrame = new CopyOnWriteStackframe();
 		for (final Entry<String, Object> entry : map.entrySet()) {
 			resultFrame.addValue(entry.getKey(), entry.getValue());
 		}
@@ -0,0 +1,49 @@
+package org.palladiosimulator.analyzer.slingshot.common.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import de.uka.ipd.sdq.simucomframework.SimuComConfig;
+
+/**
+ * Hands out the ids of the entities that are created during a simulation run,
+ * such as users, jobs and requests.
+ * <p>
+ * The ids are consecutive numbers, which are cheaper to create, hash and
+ * compare than random UUIDs. They are only unique within one simulation run.
+ * <p>
+ * The provider depends on the {@link SimuComConfig}, which is only bound in the
+ * injector of a simulation run. Hence, Guice creates one provider per run in
+ * that injector instead of sharing one provider between all runs, like it is
+ * done for {@link SimulationRandom}. The ids are nonetheless handed out
+ * atomically, so that a provider may also be shared between threads.
+ */
+@Singleton
+public final class SimulationIdProvider {
+
+	/** The last id that was handed out. */
+	private final AtomicLong lastId = new AtomicLong();
+
+	@Inject
+	public SimulationIdProvider(final SimuComConfig config) {
+		// the configuration only ties the provider to the simulation run
+	}
+
+	/**
+	 * Creates a provider that is not bound to a simulation run.
+	 */
+	public SimulationIdProvider() {
+		// nothing to configure
+	}
+
+	/**
+	 * Returns a new id that has not been handed out before by this provider.
+	 *
+	 * @return a new positive id.
+	 */
+	public long nextId() {
+		return this.lastId.incrementAndGet();
+	}
+}
@@ -0,0 +1,79 @@
+package org.palladiosimulator.analyzer.slingshot.common.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.apache.log4j.Logger;
+
+import de.uka.ipd.sdq.simucomframework.SimuComConfig;
+
+/**
+ * Provides the random number streams of a simulation run.
+ * <p>
+ * Each purpose (e.g. branching or link failures) has its own stream, so that
+ * drawing numbers for one purpose does not shift the numbers of another one.
+ * All streams are derived from a single seed, which is taken from the fixed
+ * seed of the launch configuration. Hence, a run with a fixed seed is
+ * reproducible, and runs in parallel threads do not contend for a global
+ * generator.
+ * <p>
+ * The streams are not thread-safe and must only be used by the simulation
+ * they belong to.
+ */
+@Singleton
+public final class SimulationRandom {
+
+	private static final Logger LOGGER = Logger.getLogger(SimulationRandom.class);
+
+	/** The stream for choosing branch transitions. */
+	public static final String BRANCHING = "branching";
+
+	/** The stream for simulating failures of linking resources. */
+	public static final String LINK_FAILURES = "linkFailures";
+
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	private final long seed;
+	private final Map<String, SplittableRandom> streams = new HashMap<>();
+
+	@Inject
+	public SimulationRandom(final SimuComConfig config) {
+		this(seedOf(config.getRandomSeed()));
+	}
+
+	public SimulationRandom(final long seed) {
+		this.seed = seed;
+		LOGGER.info("Random streams are seeded with " + seed);
+	}
+
+	/**
+	 * Returns the stream of the given purpose. The stream is created on first use
+	 * and only depends on the seed and the purpose.
+	 *
+	 * @param purpose The purpose of the stream, e.g. {@link #BRANCHING}.
+	 * @return The stream of the purpose.
+	 */
+	public SplittableRandom stream(final String purpose) {
+		return this.streams.computeIfAbsent(purpose,
+				p -> new SplittableRandom(this.seed ^ (p.hashCode() * GOLDEN_GAMMA)));
+	}
+
+	/**
+	 * Folds the fixed seed of the launch configuration into a single seed. If no
+	 * seed is fixed, a fresh seed is chosen.
+	 */
+	private static long seedOf(final long[] randomSeed) {
+		if (randomSeed == null || randomSeed.length == 0) {
+			return System.nanoTime();
+		}
+		long seed = 0;
+		for (final long part : randomSeed) {
+			seed = seed * GOLDEN_GAMMA + part;
+		}
+		return seed;
+	}
+}
@@ -0,0 +1,144 @@
+package org.palladiosimulator.analyzer.slingshot.common.utils;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map.Entry;
+
+import de.uka.ipd.sdq.simucomframework.variables.exceptions.ValueNotInFrameException;
+import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
+
+/**
+ * A stack frame that stores the values of variable characterisations with a
+ * slot (see {@link StackframeSlots}) in an array. Values without a slot, and
+ * the lookup in the parent frame, are left to the inherited implementation.
+ * {@link #getContents()} lists both, e.g. for summing up the
+ * {@code BYTESIZE} characterisations of a call over the wire.
+ * <p>
+ * The array grows with the highest slot written, and is shared with copies
+ * until either side writes to it. Frames with a parent or with values without
+ * a slot are copied into a plain frame instead.
+ */
+final class SlottedStackframe extends SimulatedStackframe<Object> {
+
+	/** Marks a slot that holds {@code null}, as unset slots are {@code null}. */
+	private static final Object NULL = new Object();
+
+	private static final Object[] EMPTY = new Object[0];
+
+	private final StackframeSlots slots;
+	private final boolean hasParent;
+
+	private Object[] values;
+
+	/** Whether {@link #values} is shared with a copy and must be copied before writing. */
+	private boolean shared;
+
+	/** Whether values without a slot were added to the inherited storage. */
+	private boolean hasUnslottedValues;
+
+	/**
+	 * @param slots  The slots of the loaded models.
+	 * @param parent The parent frame, or {@code null}.
+	 */
+	SlottedStackframe(final StackframeSlots slots, final SimulatedStackframe<Object> parent) {
+		super(parent);
+		this.slots = slots;
+		this.hasParent = parent != null;
+		this.values = EMPTY;
+	}
+
+	private SlottedStackframe(final SlottedStackframe original) {
+		super();
+		this.slots = original.slots;
+		this.hasParent = false;
+		this.values = original.values;
+		this.shared = true;
+	}
+
+	StackframeSlots getSlots() {
+		return this.slots;
+	}
+
+	/**
+	 * Sets the value of a slot directly, without resolving the key.
+	 *
+	 * @param slot  A slot of {@link #getSlots()}.
+	 * @param value The value, may be {@code null}.
+	 */
+	void setValue(final int slot, final Object value) {
+		if (slot >= this.values.length) {
+			this.values = Arrays.copyOf(this.values,
+					Math.min(Math.max(slot + 1, this.values.length * 2), this.slots.size()));
+			this.shared = false;
+		} else if (this.shared) {
+			this.values = this.values.clone();
+			this.shared = false;
+		}
+		this.values[slot] = value == null ? NULL : value;
+	}
+
+	@Override
+	public void addValue(final String id, final Object value) {
+		final int slot = this.slots.slotOf(id);
+		if (slot < 0) {
+			this.hasUnslottedValues = true;
+			super.addValue(id, value);
+		} else {
+			this.setValue(slot, value);
+		}
+	}
+
+	@Override
+	public Object getValue(final String id) throws ValueNotInFrameException {
+		final int slot = this.slots.slotOf(id);
+		if (slot >= 0 && slot < this.values.length) {
+			final Object value = this.values[slot];
+			if (value != null) {
+				return value == NULL ? null : value;
+			}
+		}
+		return super.getValue(id);
+	}
+
+	@Override
+	public ArrayList<Entry<String, Object>> getContents() {
+		final ArrayList<Entry<String, Object>> contents = super.getContents();
+		for (int slot = 0; slot < this.values.length; slot++) {
+			final Object value = this.values[slot];
+			if (value != null) {
+				contents.add(
+						new AbstractMap.SimpleImmutableEntry<>(this.slots.keyOf(slot), value == NULL ? null : value));
+			}
+		}
+		return contents;
+	}
+
+	@Override
+	public SimulatedStackframe<Object> copyFrame() {
+		if (!this.hasParent && !this.hasUnslottedValues) {
+			this.shared = true;
+			return new SlottedStackframe(this);
+		}
+		final SimulatedStackframe<Object> copy = super.copyFrame();
+		for (int slot = 0; slot < this.values.length; slot++) {
+			final Object value = this.values[slot];
+			if (value != null) {
+				copy.addValue(this.slots.keyOf(slot), value == NULL ? null : value);
+			}
+		}
+		return copy;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder("SlottedStackframe [");
+		for (int slot = 0; slot < this.values.length; slot++) {
+			final Object value = this.values[slot];
+			if (value != null) {
+				builder.append(this.slots.keyOf(slot)).append('=').append(value == NULL ? null : value).append(", ");
+			}
+		}
+		return builder.append(super.toString()).append(']').toString();
+	}
+}
@@ -0,0 +1,148 @@
+package org.palladiosimulator.analyzer.slingshot.common.utils;
+
+import java.io.NotSerializableException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.palladiosimulator.pcm.parameter.VariableCharacterisation;
+import org.palladiosimulator.pcm.parameter.VariableUsage;
+
+/**
+ * Assigns an integer slot to each distinct variable characterisation of the
+ * loaded models, e.g. {@code "x.VALUE"} or {@code "p.BYTESIZE"}. Stack frames
+ * created for variable usages of these models store their values in an array
+ * indexed by these slots instead of a hash map, see
+ * {@link SimulatedStackHelper#createAndPushNewStackFrame(de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStack, EList, de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe)}.
+ * <p>
+ * The slots are assigned once by {@link #install(EObject)} and attached to the
+ * resource set of the models. INNER characterisations get no slot, as the
+ * contents of a frame are enumerated for them. Characterisations that are added
+ * to the models later get no slot either; their values are stored as usual.
+ * <p>
+ * Only used if {@link ExecutionOptions#SLOT_INDEXED_STACK_FRAMES} is enabled.
+ */
+public final class StackframeSlots extends AdapterImpl {
+
+	private static final Logger LOGGER = Logger.getLogger(StackframeSlots.class);
+
+	private final Map<String, Integer> slots;
+	private final String[] keys;
+
+	private StackframeSlots(final Collection<String> keys) {
+		this.keys = keys.toArray(new String[0]);
+		this.slots = new HashMap<>(this.keys.length * 2);
+		for (int slot = 0; slot < this.keys.length; slot++) {
+			this.slots.put(this.keys[slot], slot);
+		}
+	}
+
+	/**
+	 * Assigns the slots for all variable usages in the resource set of the model,
+	 * replacing earlier assignments.
+	 *
+	 * @param model Any element of the loaded models.
+	 */
+	public static void install(final EObject model) {
+		final ResourceSet resourceSet = resourceSetOf(model);
+		if (resourceSet == null) {
+			LOGGER.warn("Cannot assign stack frame slots, the model is not part of a resource set.");
+			return;
+		}
+		uninstall(model);
+
+		final Set<String> keys = new LinkedHashSet<>();
+		final Iterator<Notifier> contents = EcoreUtil.getAllContents(resourceSet, false);
+		while (contents.hasNext()) {
+			final Notifier next = contents.next();
+			if (next instanceof final VariableUsage variableUsage) {
+				collectKeys(variableUsage, keys);
+			}
+		}
+
+		resourceSet.eAdapters().add(new StackframeSlots(keys));
+		LOGGER.info("Assigned " + keys.size() + " stack frame slots.");
+	}
+
+	/**
+	 * Removes the slots from the resource set of the model, if any.
+	 *
+	 * @param model Any element of the loaded models.
+	 */
+	public static void uninstall(final EObject model) {
+		final ResourceSet resourceSet = resourceSetOf(model);
+		if (resourceSet != null) {
+			resourceSet.eAdapters().removeIf(StackframeSlots.class::isInstance);
+		}
+	}
+
+	/**
+	 * Returns the slots that apply to the variable usages.
+	 *
+	 * @param variableUsages The variable usages of a model element.
+	 * @return the slots, or {@code null} if none are installed for the models of
+	 *         the element.
+	 */
+	static StackframeSlots of(final EList<VariableUsage> variableUsages) {
+		if (!(variableUsages instanceof final EStructuralFeature.Setting setting)) {
+			return null;
+		}
+		final ResourceSet resourceSet = resourceSetOf(setting.getEObject());
+		return resourceSet == null ? null
+				: (StackframeSlots) EcoreUtil.getExistingAdapter(resourceSet, StackframeSlots.class);
+	}
+
+	/**
+	 * @return the slot of the key, or -1 if it has none.
+	 */
+	int slotOf(final String key) {
+		final Integer slot = this.slots.get(key);
+		return slot == null ? -1 : slot;
+	}
+
+	String keyOf(final int slot) {
+		return this.keys[slot];
+	}
+
+	int size() {
+		return this.keys.length;
+	}
+
+	@Override
+	public boolean isAdapterForType(final Object type) {
+		return type == StackframeSlots.class;
+	}
+
+	private static void collectKeys(final VariableUsage variableUsage, final Set<String> keys) {
+		if (SimulatedStackHelper.isInnerReference(variableUsage.getNamedReference__VariableUsage())) {
+			return;
+		}
+		final String reference;
+		try {
+			reference = SimulatedStackHelper.STOEX_SERIALISER.serialise(variableUsage.getNamedReference__VariableUsage());
+		} catch (final NotSerializableException e) {
+			throw new RuntimeException("Could not serialize reference name.", e);
+		}
+		for (final VariableCharacterisation characterisation : variableUsage
+				.getVariableCharacterisation_VariableUsage()) {
+			keys.add(reference + "." + characterisation.getType().getLiteral());
+		}
+	}
+
+	private static ResourceSet resourceSetOf(final EObject model) {
+		final Resource resource = model.eResource();
+		return resource == null ? null : resource.getResourceSet();
+	}
+}
@@ -2,10 +2,12 @@ package org.palladiosimulator.analyzer.slingshot.common.utils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 import java.util.stream.Collectors;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.EList;
+import org.palladiosimulator.analyzer.slingshot.common.utils.stoexproxy.CompiledStoEx;
 import org.palladiosimulator.pcm.core.PCMRandomVariable;
 import org.palladiosimulator.pcm.seff.AbstractBranchTransition;
 import org.palladiosimulator.pcm.seff.GuardedBranchTransition;
@@ -14,7 +16,6 @@ import org.palladiosimulator.pcm.usagemodel.BranchTransition;
 
 import com.google.common.base.Preconditions;
 
-import de.uka.ipd.sdq.simucomframework.variables.StackContext;
 import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
 
 /**
@@ -30,9 +31,20 @@ public class TransitionDeterminer {
 	/** The stack frame in which the parameter lies. */
 	private final SimulatedStackframe<Object> currentStackFrame;
 
-	public TransitionDeterminer(final SimulatedStackframe<Object> currentStackFrame) {
+	/** The random stream for choosing probabilistic transitions. */
+	private final SplittableRandom random;
+
+	/**
+	 * @param currentStackFrame The stack frame in which the parameters lie.
+	 * @param random            The random stream for choosing probabilistic
+	 *                          transitions, typically
+	 *                          {@link SimulationRandom#BRANCHING}.
+	 */
+	public TransitionDeterminer(final SimulatedStackframe<Object> currentStackFrame, final SplittableRandom random) {
 		Preconditions.checkNotNull(currentStackFrame);
+		Preconditions.checkNotNull(random);
 		this.currentStackFrame = currentStackFrame;
+		this.random = random;
 	}
 
 	/**
@@ -42,7 +54,7 @@ public class TransitionDeterminer {
 	 * @return true iff it holds.
 	 */
 	private boolean conditionHolds(final PCMRandomVariable condition) {
-		return StackContext.evaluateStatic(condition.getSpecification(), Boolean.class, this.currentStackFrame);
+		return CompiledStoEx.of(condition, Boolean.class).evaluate(this.currentStackFrame);
 	}
 
 	/**
@@ -74,9 +86,8 @@ public class TransitionDeterminer {
 	 * @return a branch transition.
 	 */
 	public BranchTransition determineBranchTransition(final EList<BranchTransition> branchTransitions) {
-		final List<Double> summedProbabilityList = this
-		        .createSummedProbabilityList(this.extractProbabilitiesUsageModel(branchTransitions));
-		final int transitionIndex = this.getRandomIndex(summedProbabilityList);
+		final AliasTable aliasTable = AliasTable.of(branchTransitions, BranchTransition::getBranchProbability);
+		final int transitionIndex = aliasTable.sample(this.random.nextDouble());
 
 		return branchTransitions.get(transitionIndex);
 	}
@@ -122,9 +133,10 @@ public class TransitionDeterminer {
 	 * @return a probabilistic branch transition.
 	 */
 	public ProbabilisticBranchTransition determineProbabilisticBranchTransition(final EList<AbstractBranchTransition> probabilisticBranchTransitions) {
-		final List<Double> summedProbabilityList = this.createSummedProbabilityList(this.extractProbabilitiesRDSEFF(probabilisticBranchTransitions));
+		final AliasTable aliasTable = AliasTable.of(probabilisticBranchTransitions,
+				transition -> ((ProbabilisticBranchTransition) transition).getBranchProbability());
 		
-		final int transitionIndex = this.getRandomIndex(summedProbabilityList);
+		final int transitionIndex = aliasTable.sample(this.random.nextDouble());
 		
 		final ProbabilisticBranchTransition branchTransition = (ProbabilisticBranchTransition) probabilisticBranchTransitions.get(transitionIndex);
 		
@@ -153,24 +165,6 @@ public class TransitionDeterminer {
 		return branchTransition;
 	}
 	
-	private int getRandomIndex(final List<Double> summedProbabilityList) {
-		if (summedProbabilityList.size() == 0) {
-			return -1;
-		}
-
-		final double lastSum = summedProbabilityList.get(summedProbabilityList.size() - 1);
-		final double randomNumber = Math.random(); // TODO: Use SimuCom Random instead
-
-		int i = 0;
-		for (final Double sum : summedProbabilityList) {
-			if (lastSum * randomNumber < sum) {
-				return i;
-			}
-			i++;
-		}
-		return -1;
-	}
-
 	protected List<Double> extractProbabilitiesRDSEFF(final EList<AbstractBranchTransition> probabilisticBranchTransitions) {
 		return probabilisticBranchTransitions.stream()
 				.map(ProbabilisticBranchTransition.class::cast)
@@ -0,0 +1,179 @@
+package org.palladiosimulator.analyzer.slingshot.common.utils;
+
+import java.io.NotSerializableException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.palladiosimulator.analyzer.slingshot.common.utils.stoexproxy.CompiledStoEx;
+import org.palladiosimulator.pcm.core.PCMRandomVariable;
+import org.palladiosimulator.pcm.parameter.VariableCharacterisation;
+import org.palladiosimulator.pcm.parameter.VariableUsage;
+
+import de.uka.ipd.sdq.simucomframework.variables.EvaluationProxy;
+import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
+import de.uka.ipd.sdq.stoex.AbstractNamedReference;
+
+/**
+ * The precomputed bindings of a list of {@link VariableUsage}s, i.e. for each
+ * variable characterisation the key in the stack frame, whether it is an INNER
+ * characterisation, and the compiled specification.
+ * <p>
+ * Plans are cached on the model element that contains the variable usages (see
+ * {@link #of(EList)}), one per containing feature, and are rebuilt only if the
+ * element or any of its variable usages change.
+ */
+final class VariableBindingPlan {
+
+	private final Binding[] bindings;
+
+	private VariableBindingPlan(final List<Binding> bindings) {
+		this.bindings = bindings.toArray(new Binding[0]);
+	}
+
+	/**
+	 * Adds the values of all bindings to the target stack frame.
+	 *
+	 * All INNER bindings share one copy of the context stack frame, which is
+	 * taken in constant time if it is a {@link CopyOnWriteStackframe}.
+	 *
+	 * @param contextStackFrame The stack frame in which the specifications are
+	 *                          evaluated.
+	 * @param targetStackFrame  The stack frame to add the values to.
+	 */
+	void bind(final SimulatedStackframe<Object> contextStackFrame,
+			final SimulatedStackframe<Object> targetStackFrame) {
+		SimulatedStackframe<Object> capturedStackFrame = null;
+		for (final Binding binding : this.bindings) {
+			if (binding.inner) {
+				if (capturedStackFrame == null) {
+					capturedStackFrame = contextStackFrame.copyFrame();
+				}
+				binding.addValue(targetStackFrame, new EvaluationProxy(binding.specification, capturedStackFrame));
+			} else {
+				binding.addValue(targetStackFrame, binding.expression.evaluate(contextStackFrame));
+			}
+		}
+	}
+
+	/**
+	 * @return the stack frame keys of the bindings, in order.
+	 */
+	List<String> getKeys() {
+		final List<String> keys = new ArrayList<>(this.bindings.length);
+		for (final Binding binding : this.bindings) {
+			keys.add(binding.key);
+		}
+		return keys;
+	}
+
+	/**
+	 * Returns the plan of the variable usages. If the list is the feature of a
+	 * model element, the plan is cached on that element.
+	 *
+	 * @param variableUsages The variable usages.
+	 * @return The binding plan.
+	 */
+	static VariableBindingPlan of(final EList<VariableUsage> variableUsages) {
+		if (!(variableUsages instanceof EStructuralFeature.Setting)) {
+			return build(variableUsages);
+		}
+		final EStructuralFeature.Setting setting = (EStructuralFeature.Setting) variableUsages;
+		final EObject owner = setting.getEObject();
+
+		final ModelCache<EStructuralFeature, VariableBindingPlan> cache = ModelCache.of(owner,
+				VariableBindingPlan.class);
+		VariableBindingPlan plan = cache.get(setting.getEStructuralFeature());
+		if (plan == null) {
+			plan = build(variableUsages);
+			cache.put(setting.getEStructuralFeature(), plan);
+			variableUsages.forEach(cache::observeTree);
+		}
+		return plan;
+	}
+
+	private static VariableBindingPlan build(final List<VariableUsage> variableUsages) {
+		final List<Binding> bindings = new ArrayList<>();
+		for (final VariableUsage variableUsage : variableUsages) {
+			final AbstractNamedReference namedReference = variableUsage.getNamedReference__VariableUsage();
+			final boolean inner = SimulatedStackHelper.isInnerReference(namedReference);
+			final String reference;
+			try {
+				reference = SimulatedStackHelper.STOEX_SERIALISER.serialise(namedReference);
+			} catch (final NotSerializableException e) {
+				throw new RuntimeException("Could not serialize reference name.", e);
+			}
+
+			for (final VariableCharacterisation variableCharacterisation : variableUsage
+					.getVariableCharacterisation_VariableUsage()) {
+				final PCMRandomVariable randomVariable = variableCharacterisation
+						.getSpecification_VariableCharacterisation();
+				bindings.add(new Binding(reference + "." + variableCharacterisation.getType().getLiteral(), inner,
+						randomVariable.getSpecification(), inner ? null : CompiledStoEx.of(randomVariable, Object.class)));
+			}
+		}
+		return new VariableBindingPlan(bindings);
+	}
+
+	/**
+	 * A single variable characterisation.
+	 */
+	private static final class Binding {
+		private final String key;
+		private final boolean inner;
+		private final String specification;
+		/** The compiled specification, only set if not {@link #inner}. */
+		private final CompiledStoEx<Object> expression;
+
+		/**
+		 * The slot of {@link #key}, resolved against the slots of the last frame.
+		 * Plans are shared by all simulation runs on the model, which may use
+		 * different slots; the slots and the slot are therefore replaced together.
+		 */
+		private ResolvedSlot resolved;
+
+		private Binding(final String key, final boolean inner, final String specification,
+				final CompiledStoEx<Object> expression) {
+			this.key = key;
+			this.inner = inner;
+			this.specification = specification;
+			this.expression = expression;
+		}
+
+		/**
+		 * Adds the value to the frame, directly into its slot if the frame is a
+		 * {@link SlottedStackframe}.
+		 */
+		private void addValue(final SimulatedStackframe<Object> targetStackFrame, final Object value) {
+			if (targetStackFrame instanceof final SlottedStackframe slotted) {
+				ResolvedSlot resolved = this.resolved;
+				if (resolved == null || resolved.slots != slotted.getSlots()) {
+					resolved = new ResolvedSlot(slotted.getSlots(), slotted.getSlots().slotOf(this.key));
+					this.resolved = resolved;
+				}
+				if (resolved.slot >= 0) {
+					slotted.setValue(resolved.slot, value);
+					return;
+				}
+			}
+			targetStackFrame.addValue(this.key, value);
+		}
+	}
+
+	/**
+	 * A slot together with the slots it was resolved against. As all fields are
+	 * final, a binding that reads an instance written by another thread sees both
+	 * fields as they were constructed.
+	 */
+	private static final class ResolvedSlot {
+		private final StackframeSlots slots;
+		private final int slot;
+
+		private ResolvedSlot(final StackframeSlots slots, final int slot) {
+			this.slots = slots;
+			this.slot = slot;
+		}
+	}
+}
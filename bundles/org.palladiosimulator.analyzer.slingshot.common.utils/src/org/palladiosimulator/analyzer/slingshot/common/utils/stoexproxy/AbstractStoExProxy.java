@@ -2,8 +2,6 @@ package org.palladiosimulator.analyzer.slingshot.common.utils.stoexproxy;
 
 import org.palladiosimulator.pcm.core.PCMRandomVariable;
 
-import de.uka.ipd.sdq.simucomframework.variables.StackContext;
-
 /**
  * An abstract class defining the basic calculation proxy.
  * 
@@ -28,7 +26,7 @@ public abstract class AbstractStoExProxy<T> implements StoExProxy<T> {
 
 	@Override
 	public T calculateRV() {
-		return StackContext.evaluateStatic(randomVariable.getSpecification(), evaluateInto);
+		return CompiledStoEx.of(randomVariable, evaluateInto).evaluate();
 	}
 
 }
@@ -0,0 +1,144 @@
+package org.palladiosimulator.analyzer.slingshot.common.utils.stoexproxy;
+
+import java.util.Iterator;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.palladiosimulator.analyzer.slingshot.common.utils.ModelCache;
+import org.palladiosimulator.pcm.core.PCMRandomVariable;
+
+import de.uka.ipd.sdq.simucomframework.variables.StackContext;
+import de.uka.ipd.sdq.simucomframework.variables.cache.StoExCache;
+import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
+import de.uka.ipd.sdq.stoex.Expression;
+import de.uka.ipd.sdq.stoex.FunctionLiteral;
+import de.uka.ipd.sdq.stoex.ProbabilityFunctionLiteral;
+import de.uka.ipd.sdq.stoex.Variable;
+
+/**
+ * Evaluates a {@link PCMRandomVariable}, folding it into a constant if it
+ * always yields the same value.
+ * <p>
+ * The parsed expression is analysed once. If it neither references variables
+ * nor contains probability functions or function calls, it is evaluated
+ * exactly once and the value is reused. Any other expression is evaluated by
+ * {@link StackContext} on every call, exactly like without this class; only
+ * literal expressions get faster.
+ * <p>
+ * Evaluators are cached on the random variable itself, one per requested type,
+ * in a {@link ModelCache}. The cache is dropped as soon as the random variable
+ * changes, e.g. when a usage evolution sets a new specification.
+ * <p>
+ * Evaluating into {@code Object} does not convert the value, i.e. it yields
+ * whatever type the expression evaluates to.
+ *
+ * @param <T> The type to which the random variable is evaluated.
+ */
+public final class CompiledStoEx<T> {
+
+	private static final Logger LOGGER = Logger.getLogger(CompiledStoEx.class);
+
+	/** The frame for untyped evaluations that do not need a stack frame. */
+	private static final SimulatedStackframe<Object> EMPTY_FRAME = new SimulatedStackframe<>();
+
+	/** The specification this evaluator was created for. */
+	private final String specification;
+	private final Class<T> evaluateInto;
+
+	/** Whether the expression always yields the same value. */
+	private final boolean folded;
+
+	/** The folded value, only set if {@link #folded}. */
+	private final T constant;
+
+	private CompiledStoEx(final String specification, final Class<T> evaluateInto) {
+		this.specification = specification;
+		this.evaluateInto = evaluateInto;
+		this.folded = canBeFolded(specification);
+		this.constant = this.folded ? this.evaluateStatic(EMPTY_FRAME) : null;
+	}
+
+	/**
+	 * Returns the evaluator of the random variable. The evaluator is created on
+	 * first use and whenever the random variable has changed since.
+	 *
+	 * @param randomVariable The random variable to evaluate.
+	 * @param evaluateInto   The type to which the random variable is evaluated.
+	 * @return The evaluator.
+	 */
+	public static <T> CompiledStoEx<T> of(final PCMRandomVariable randomVariable, final Class<T> evaluateInto) {
+		final ModelCache<Class<?>, CompiledStoEx<?>> cache = ModelCache.of(randomVariable, CompiledStoEx.class);
+
+		@SuppressWarnings("unchecked")
+		CompiledStoEx<T> compiled = (CompiledStoEx<T>) cache.get(evaluateInto);
+		if (compiled == null) {
+			final String specification = randomVariable.getSpecification();
+			compiled = new CompiledStoEx<>(specification, evaluateInto);
+			cache.put(evaluateInto, compiled);
+			LOGGER.debug("Created evaluator for '" + specification + "'"
+					+ (compiled.folded ? ", folded into a constant" : ""));
+		}
+		return compiled;
+	}
+
+	/**
+	 * Drops all evaluators of the random variable. This is not needed
+	 * after a change of the specification, but allows to release the memory.
+	 *
+	 * @param randomVariable The random variable.
+	 */
+	public static void invalidate(final PCMRandomVariable randomVariable) {
+		ModelCache.of(randomVariable, CompiledStoEx.class).clear();
+	}
+
+	/**
+	 * Evaluates the random variable without any stack frame. This can only be used
+	 * for random variables that do not reference variables.
+	 *
+	 * @return The evaluated value.
+	 */
+	public T evaluate() {
+		return this.folded ? this.constant : this.evaluateStatic(EMPTY_FRAME);
+	}
+
+	/**
+	 * Evaluates the random variable in the stack frame.
+	 *
+	 * @param stackFrame The stack frame in which the variables lie.
+	 * @return The evaluated value.
+	 */
+	public T evaluate(final SimulatedStackframe<Object> stackFrame) {
+		return this.folded ? this.constant : this.evaluateStatic(stackFrame);
+	}
+
+	private T evaluateStatic(final SimulatedStackframe<Object> stackFrame) {
+		if (this.evaluateInto == Object.class) {
+			return this.evaluateInto.cast(StackContext.evaluateStatic(this.specification, stackFrame));
+		}
+		if (stackFrame == EMPTY_FRAME) {
+			return StackContext.evaluateStatic(this.specification, this.evaluateInto);
+		}
+		return StackContext.evaluateStatic(this.specification, this.evaluateInto, stackFrame);
+	}
+
+	/**
+	 * @return true iff the random variable was folded into a constant.
+	 */
+	public boolean isConstant() {
+		return this.folded;
+	}
+
+	private static boolean canBeFolded(final String specification) {
+		final Expression expression = StoExCache.singleton().getEntry(specification).getParsedExpression();
+
+		final Iterator<EObject> contents = EcoreUtil.getAllContents(expression, false);
+		for (EObject next = expression; next != null; next = contents.hasNext() ? contents.next() : null) {
+			if (next instanceof Variable || next instanceof ProbabilityFunctionLiteral
+					|| next instanceof FunctionLiteral) {
+				return false;
+			}
+		}
+		return true;
+	}
+}